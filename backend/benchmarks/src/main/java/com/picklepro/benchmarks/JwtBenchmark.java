@@ -0,0 +1,92 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
+import com.picklepro.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on every login (generate) and every authenticated request (parse and
+ * validate), with and without embedded role claims.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    @Param({ "false", "true" })
+    private boolean statelessClaims;
+
+    private JwtTokenProvider provider;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        provider = new JwtTokenProvider();
+        set("jwtSecret", "benchmark-secret-key-that-is-at-least-32-bytes-long");
+        set("jwtExpiration", 86_400_000L);
+        set("statelessClaimsEnabled", statelessClaims);
+        set("statelessClaimsTtl", 300_000L);
+        // The @PostConstruct hook, as Spring would call it
+        Method init = JwtTokenProvider.class.getDeclaredMethod("init");
+        init.setAccessible(true);
+        init.invoke(provider);
+
+        Map<String, Role> memberships = new HashMap<>();
+        for (int i = 0; i < 3; i++) {
+            memberships.put("group-" + i, i == 0 ? Role.GROUP_ADMIN : Role.VIEWER);
+        }
+        user = User.builder()
+                .id("9b2f4f0e-4f8a-4d55-9d8e-0c1f0a6f3b21")
+                .email("player@example.com")
+                .systemRole(User.SystemRole.USER)
+                .memberships(memberships)
+                .build();
+        token = provider.generateToken(user);
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtTokenProvider.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(provider, value);
+    }
+
+    @Benchmark
+    public String generate() {
+        return provider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return provider.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<User> parseAndResolve() {
+        // What JwtAuthenticationFilter does per request
+        Optional<Claims> claims = provider.parseClaims(token);
+        return claims.flatMap(provider::getUserFromClaims);
+    }
+}
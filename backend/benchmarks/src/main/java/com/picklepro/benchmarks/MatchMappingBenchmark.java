@@ -0,0 +1,55 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.dto.MatchResponse;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.service.MatchService;
+import com.picklepro.service.PlayerNameDictionary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match to MatchResponse mapping for a feed page and for the full list endpoint. The name
+ * dictionary is preloaded, as it is after startup, so no database access happens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchMappingBenchmark {
+
+    @Param({ "20", "5000" })
+    private int matchCount;
+
+    private MatchService matchService;
+    private List<Match> matches;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = SyntheticData.players();
+        PlayerNameDictionary names = new PlayerNameDictionary(null, new SimpleMeterRegistry());
+        players.forEach(names::put);
+        matchService = new MatchService(null, names, null, null, null, null);
+        matches = SyntheticData.matches(players, matchCount);
+    }
+
+    @Benchmark
+    public List<MatchResponse> toMatchResponses() {
+        return matchService.toMatchResponses(matches);
+    }
+}
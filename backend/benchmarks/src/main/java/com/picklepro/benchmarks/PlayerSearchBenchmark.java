@@ -0,0 +1,54 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.dto.PlayerSearchResult;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.service.PlayerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Autocomplete queries against the player search index. Every synthetic player is named
+ * "Player n", so short prefixes match the whole roster and exercise the ranking.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlayerSearchBenchmark {
+
+    @Param({ "p", "play", "player 12", "ayer 3" })
+    private String query;
+
+    private PlayerSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = SyntheticData.players();
+        index = new PlayerSearchIndex(null);
+        players.forEach(index::put);
+        for (Match match : SyntheticData.matches(players, 5000)) {
+            index.recordActivity(match);
+        }
+    }
+
+    @Benchmark
+    public List<PlayerSearchResult> search() {
+        return index.search(query, Set.of(), PlayerSearchIndex.DEFAULT_LIMIT);
+    }
+}
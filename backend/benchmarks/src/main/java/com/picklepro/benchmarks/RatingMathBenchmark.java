@@ -0,0 +1,81 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.service.RatingReplayEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elo math used by RatingService: the per-match expected score and delta, and a full
+ * date-ordered replay of a club's match history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingMathBenchmark {
+
+    private static final double K_FACTOR = 32;
+    private static final int PAIRS = 1024;
+
+    @Param({ "10000", "100000" })
+    private int matchCount;
+
+    private final double[] ratingsA = new double[PAIRS];
+    private final double[] ratingsB = new double[PAIRS];
+    private List<Match> history;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        for (int i = 0; i < PAIRS; i++) {
+            ratingsA[i] = 900 + random.nextDouble() * 800;
+            ratingsB[i] = 900 + random.nextDouble() * 800;
+        }
+        List<Player> players = SyntheticData.players();
+        history = SyntheticData.matches(players, matchCount);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void expectedScore(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(RatingReplayEngine.expectedScore(ratingsA[i], ratingsB[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void ratingDelta(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(RatingReplayEngine.ratingDelta(K_FACTOR, ratingsA[i], ratingsB[i], (i & 1) == 0));
+        }
+    }
+
+    @Benchmark
+    public RatingReplayEngine.Result replayHistory() {
+        RatingReplayEngine engine = new RatingReplayEngine(K_FACTOR);
+        for (Match match : history) {
+            engine.addMatch(match.getTeamA(), match.getTeamB(), match.getScoreA(), match.getScoreB());
+        }
+        return engine.replay();
+    }
+}
@@ -0,0 +1,63 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.dto.PlayerStatsResponse;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.PlayerStats;
+import com.picklepro.service.StatsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side equivalent of the StatsDashboard aggregation: fold a match history into
+ * per-player totals (global and per group), then build the sorted dashboard rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsAggregationBenchmark {
+
+    @Param({ "1000", "50000" })
+    private int matchCount;
+
+    private List<Match> matches;
+    private Map<String, String> names;
+
+    @Setup
+    public void setUp() {
+        List<Player> players = SyntheticData.players();
+        matches = SyntheticData.matches(players, matchCount);
+        names = new HashMap<>();
+        players.forEach(p -> names.put(p.getId(), p.getName()));
+    }
+
+    @Benchmark
+    public List<PlayerStatsResponse> dashboard() {
+        Map<String, PlayerStats> totals = new HashMap<>();
+        matches.forEach(match -> StatsService.accumulate(totals, match));
+        return totals.values().stream()
+                .filter(s -> s.getGroupId() == null)
+                .map(s -> StatsService.toResponse(s, names.get(s.getPlayerId())))
+                .sorted(Comparator.comparingDouble(PlayerStatsResponse::getAvgPointsFor).reversed()
+                        .thenComparing(PlayerStatsResponse::getName))
+                .toList();
+    }
+}
@@ -0,0 +1,78 @@
+package com.picklepro.benchmarks;
+
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic club-sized datasets: a few hundred players spread over a handful of groups,
+ * mostly doubles, games to 11. The seed is fixed so runs are comparable.
+ */
+public final class SyntheticData {
+
+    public static final int PLAYERS = 400;
+    public static final int GROUPS = 8;
+
+    private static final long SEED = 42;
+    private static final Instant START = Instant.parse("2024-01-01T18:00:00Z");
+
+    private SyntheticData() {
+    }
+
+    public static List<Player> players() {
+        Random random = new Random(SEED);
+        List<Player> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(Player.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .name("Player " + i)
+                    .email("player" + i + "@example.com")
+                    .rating(1000 + random.nextDouble() * 400)
+                    .build());
+        }
+        return players;
+    }
+
+    public static List<Match> matches(List<Player> players, int count) {
+        Random random = new Random(SEED + count);
+        List<Match> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean doubles = random.nextInt(10) < 8;
+            int teamSize = doubles ? 2 : 1;
+            List<String> picked = pick(players, random, teamSize * 2);
+            boolean teamAWon = random.nextBoolean();
+            int loserScore = random.nextInt(10);
+            matches.add(Match.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()).toString())
+                    .date(START.plus(Duration.ofMinutes(15L * i)))
+                    .type(doubles ? Match.MatchType.Doubles : Match.MatchType.Singles)
+                    .teamA(List.copyOf(picked.subList(0, teamSize)))
+                    .teamB(List.copyOf(picked.subList(teamSize, teamSize * 2)))
+                    .scoreA(teamAWon ? 11 : loserScore)
+                    .scoreB(teamAWon ? loserScore : 11)
+                    .venueId("venue-" + random.nextInt(12))
+                    .courtNumber(1 + random.nextInt(6))
+                    .groupId("group-" + random.nextInt(GROUPS))
+                    .userId(picked.get(0))
+                    .build());
+        }
+        return matches;
+    }
+
+    private static List<String> pick(List<Player> players, Random random, int n) {
+        List<String> picked = new ArrayList<>(n);
+        while (picked.size() < n) {
+            String id = players.get(random.nextInt(players.size())).getId();
+            if (!picked.contains(id)) {
+                picked.add(id);
+            }
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,193 @@
+package com.picklepro.loadtest;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Projections;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.bson.Document;
+import org.HdrHistogram.ConcurrentHistogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent clients, each on its own virtual thread, issuing a weighted mix of requests
+ * with an admin JWT until the deadline. Latencies are recorded per endpoint.
+ */
+class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    // Highest latency the histograms track, in microseconds
+    private static final long MAX_LATENCY_MICROS = REQUEST_TIMEOUT.toNanos() / 1000;
+
+    private final String baseUrl;
+    private final String token;
+    private final String mongoUri;
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<Endpoint, ConcurrentHistogram> latencies = new LinkedHashMap<>();
+    private final Map<Endpoint, LongAdder> errors = new LinkedHashMap<>();
+    private List<String> playerIds;
+    private List<String> groupIds;
+
+    enum Endpoint {
+        MATCHES_FEED("GET /v1/matches/feed", 40),
+        PLAYERS("GET /v1/players", 25),
+        CREATE_MATCH("POST /v1/matches", 25),
+        MATCHES("GET /v1/matches", 10);
+
+        final String label;
+        final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+    }
+
+    LoadDriver(String baseUrl, String jwtSecret, String mongoUri) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mongoUri = mongoUri;
+        Date now = new Date();
+        this.token = Jwts.builder()
+                .subject(LoadTest.ADMIN_USER_ID)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + Duration.ofHours(12).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    /**
+     * @param writesOnly issue only match submissions instead of the weighted mix, e.g. to
+     *                   compare the batched and unbatched write paths
+     */
+    RunReport run(String label, int clients, Duration duration, boolean writesOnly) throws InterruptedException {
+        long matchCount = loadSeedData();
+        System.out.printf("Driving %s with %d clients for %ds against %,d matches%s%n", baseUrl, clients,
+                duration.toSeconds(), matchCount, writesOnly ? " (writes only)" : "");
+
+        Instant startedAt = Instant.now();
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        execute(writesOnly ? Endpoint.CREATE_MATCH : pick());
+                    }
+                });
+            }
+            executor.shutdown();
+            // Let the last in-flight requests finish
+            executor.awaitTermination(duration.toSeconds() + REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        }
+        double elapsedSeconds = Duration.between(startedAt, Instant.now()).toMillis() / 1000.0;
+
+        List<RunReport.EndpointResult> results = new ArrayList<>();
+        latencies.forEach((endpoint, histogram) -> results.add(
+                RunReport.EndpointResult.of(endpoint.label, histogram, errors.get(endpoint).sum(), elapsedSeconds)));
+        return new RunReport(label, startedAt, baseUrl, matchCount, clients, elapsedSeconds, results);
+    }
+
+    private long loadSeedData() {
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoDatabase db = client.getDatabase(Seeder.databaseName(mongoUri));
+            playerIds = db.getCollection("players").find().projection(Projections.include("_id"))
+                    .map(d -> d.getString("_id")).into(new ArrayList<>());
+            groupIds = db.getCollection("groups").find().projection(Projections.include("_id"))
+                    .map(d -> d.getString("_id")).into(new ArrayList<>());
+            if (playerIds.size() < 4 || groupIds.isEmpty()) {
+                throw new IllegalStateException("Database is not seeded, run 'seed' first");
+            }
+            return db.getCollection("matches").estimatedDocumentCount();
+        }
+    }
+
+    private Endpoint pick() {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        for (Endpoint endpoint : Endpoint.values()) {
+            roll -= endpoint.weight;
+            if (roll < 0) {
+                return endpoint;
+            }
+        }
+        return Endpoint.MATCHES_FEED;
+    }
+
+    private void execute(Endpoint endpoint) {
+        HttpRequest request = request(endpoint);
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 400) {
+                errors.get(endpoint).increment();
+                return;
+            }
+        } catch (Exception e) {
+            errors.get(endpoint).increment();
+            return;
+        }
+        long micros = (System.nanoTime() - started) / 1000;
+        latencies.get(endpoint).recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = switch (endpoint) {
+            case MATCHES_FEED -> get("/v1/matches/feed?limit=20&groupId=" + groupIds.get(random.nextInt(groupIds.size())));
+            case PLAYERS -> get("/v1/players");
+            case MATCHES -> get("/v1/matches");
+            case CREATE_MATCH -> HttpRequest.newBuilder(URI.create(baseUrl + "/v1/matches"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newMatchJson(random)));
+        };
+        return builder.header("Authorization", "Bearer " + token).timeout(REQUEST_TIMEOUT).build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private String newMatchJson(ThreadLocalRandom random) {
+        List<String> picked = new ArrayList<>(4);
+        while (picked.size() < 4) {
+            String id = playerIds.get(random.nextInt(playerIds.size()));
+            if (!picked.contains(id)) {
+                picked.add(id);
+            }
+        }
+        boolean teamAWon = random.nextBoolean();
+        int loserScore = random.nextInt(10);
+        return new Document("date", Instant.now().toString())
+                .append("type", "Doubles")
+                .append("teamA", picked.subList(0, 2))
+                .append("teamB", picked.subList(2, 4))
+                .append("scoreA", teamAWon ? 11 : loserScore)
+                .append("scoreB", teamAWon ? loserScore : 11)
+                .append("groupId", groupIds.get(random.nextInt(groupIds.size())))
+                .toJson();
+    }
+}
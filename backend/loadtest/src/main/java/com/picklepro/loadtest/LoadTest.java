@@ -0,0 +1,69 @@
+package com.picklepro.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entry point: {@code seed} fills a local MongoDB with a generated club history, {@code run}
+ * drives the REST API against it and saves a latency report, and {@code compare a.csv b.csv}
+ * prints two saved reports side by side (e.g. platform vs virtual threads).
+ *
+ * Options (all optional): --mongo-uri, --matches, --players, --base-url, --jwt-secret,
+ * --clients, --duration (seconds), --label (e.g. "virtual"), --results (directory),
+ * --mix ("default", or "writes" to only submit matches).
+ */
+public final class LoadTest {
+
+    static final String ADMIN_USER_ID = "loadtest-admin";
+    static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("compare")) {
+            RunReport.compare(Path.of(args[1]), Path.of(args[2]), System.out);
+            return;
+        }
+        if (args.length == 0 || !(args[0].equals("seed") || args[0].equals("run"))) {
+            System.err.println("Usage: (seed|run) [--option value ...] | compare <a.csv> <b.csv>");
+            System.exit(2);
+        }
+        Map<String, String> options = parseOptions(args);
+        String mongoUri = options.getOrDefault("mongo-uri", "mongodb://localhost:27017/picklepro-loadtest");
+
+        if (args[0].equals("seed")) {
+            int matches = Integer.parseInt(options.getOrDefault("matches", "100000"));
+            // Roughly one player per 250 matches, with a floor for small runs
+            int players = Integer.parseInt(options.getOrDefault("players",
+                    String.valueOf(Math.max(200, matches / 250))));
+            new Seeder(mongoUri).seed(players, matches);
+            return;
+        }
+
+        LoadDriver driver = new LoadDriver(
+                options.getOrDefault("base-url", "http://localhost:8080"),
+                options.getOrDefault("jwt-secret", "loadtest-secret-key-change-me-minimum-32-chars"),
+                mongoUri);
+        RunReport report = driver.run(
+                options.getOrDefault("label", "default"),
+                Integer.parseInt(options.getOrDefault("clients", "32")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                options.getOrDefault("mix", "default").equals("writes"));
+        report.print(System.out);
+        report.save(Path.of(options.getOrDefault("results", "results")));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value, got '" + args[i] + "'");
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
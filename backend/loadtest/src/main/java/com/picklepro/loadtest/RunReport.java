@@ -0,0 +1,115 @@
+package com.picklepro.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-endpoint latency percentiles and throughput for one run, saved as JSON and CSV under
+ * a timestamped name so runs can be compared side by side.
+ */
+record RunReport(String label, Instant startedAt, String baseUrl, long matchCount, int clients,
+        double elapsedSeconds, List<EndpointResult> endpoints) {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+    private static final String CSV_HEADER = "endpoint,requests,errors,throughputPerSec,p50Ms,p95Ms,p99Ms,maxMs";
+
+    record EndpointResult(String endpoint, long requests, long errors, double throughputPerSec, double p50Ms,
+            double p95Ms, double p99Ms, double maxMs) {
+
+        static EndpointResult of(String endpoint, Histogram micros, long errors, double elapsedSeconds) {
+            long requests = micros.getTotalCount();
+            return new EndpointResult(endpoint, requests, errors, requests / elapsedSeconds,
+                    micros.getValueAtPercentile(50) / 1000.0,
+                    micros.getValueAtPercentile(95) / 1000.0,
+                    micros.getValueAtPercentile(99) / 1000.0,
+                    micros.getMaxValue() / 1000.0);
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f", endpoint, requests, errors,
+                    throughputPerSec, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"endpoint\":\"%s\",\"requests\":%d,\"errors\":%d,\"throughputPerSec\":%.1f,"
+                            + "\"p50Ms\":%.2f,\"p95Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                    endpoint, requests, errors, throughputPerSec, p50Ms, p95Ms, p99Ms, maxMs);
+        }
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-24s %10s %8s %10s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+                "p95 ms", "p99 ms", "max ms");
+        for (EndpointResult r : endpoints) {
+            out.printf(Locale.ROOT, "%-24s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", r.endpoint(), r.requests(),
+                    r.errors(), r.throughputPerSec(), r.p50Ms(), r.p95Ms(), r.p99Ms(), r.maxMs());
+        }
+    }
+
+    void save(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String name = FILE_TIMESTAMP.format(startedAt) + "-" + matchCount + "-" + label;
+
+        String json = String.format(Locale.ROOT,
+                "{\"label\":\"%s\",\"startedAt\":\"%s\",\"baseUrl\":\"%s\",\"matchCount\":%d,\"clients\":%d,"
+                        + "\"elapsedSeconds\":%.1f,\"endpoints\":[%s]}%n",
+                label, startedAt, baseUrl, matchCount, clients, elapsedSeconds,
+                endpoints.stream().map(EndpointResult::toJson).collect(Collectors.joining(",")));
+        Files.writeString(directory.resolve(name + ".json"), json);
+
+        String csv = CSV_HEADER + "\n"
+                + endpoints.stream().map(EndpointResult::toCsv).collect(Collectors.joining("\n")) + "\n";
+        Files.writeString(directory.resolve(name + ".csv"), csv);
+
+        System.out.println("Saved " + directory.resolve(name + ".json"));
+    }
+
+    /**
+     * Prints throughput and p99 of two saved CSV reports per endpoint, with the change from
+     * the first to the second.
+     */
+    static void compare(Path first, Path second, PrintStream out) throws IOException {
+        Map<String, String[]> a = readCsv(first);
+        Map<String, String[]> b = readCsv(second);
+        out.printf("%-24s %12s %12s %8s %10s %10s %8s%n", "endpoint", "req/s A", "req/s B", "change", "p99 A",
+                "p99 B", "change");
+        for (Map.Entry<String, String[]> row : a.entrySet()) {
+            String[] other = b.get(row.getKey());
+            if (other == null) {
+                continue;
+            }
+            double throughputA = Double.parseDouble(row.getValue()[3]);
+            double throughputB = Double.parseDouble(other[3]);
+            double p99A = Double.parseDouble(row.getValue()[6]);
+            double p99B = Double.parseDouble(other[6]);
+            out.printf(Locale.ROOT, "%-24s %12.1f %12.1f %+7.1f%% %10.2f %10.2f %+7.1f%%%n", row.getKey(),
+                    throughputA, throughputB, change(throughputA, throughputB), p99A, p99B, change(p99A, p99B));
+        }
+    }
+
+    private static Map<String, String[]> readCsv(Path path) throws IOException {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        Files.readAllLines(path).stream().skip(1).filter(line -> !line.isBlank())
+                .map(line -> line.split(","))
+                .forEach(fields -> rows.put(fields[0], fields));
+        return rows;
+    }
+
+    private static double change(double from, double to) {
+        return from == 0 ? 0 : (to - from) * 100 / from;
+    }
+}
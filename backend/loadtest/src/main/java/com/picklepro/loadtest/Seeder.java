@@ -0,0 +1,143 @@
+package com.picklepro.loadtest;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.InsertManyOptions;
+import org.bson.Document;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Writes a generated club history straight into MongoDB, in the same document shapes Spring
+ * Data maps the backend models to. The database is dropped first so runs are reproducible.
+ * Seed before starting the backend: it creates indexes and backfills player stats at startup.
+ */
+class Seeder {
+
+    static final long SEED = 20240101L;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int PLAYERS_PER_GROUP = 50;
+    private static final int VENUES = 20;
+
+    private final String mongoUri;
+
+    Seeder(String mongoUri) {
+        this.mongoUri = mongoUri;
+    }
+
+    void seed(int playerCount, int matchCount) {
+        Random random = new Random(SEED);
+        int groupCount = Math.max(1, playerCount / PLAYERS_PER_GROUP);
+        long started = System.nanoTime();
+
+        try (MongoClient client = MongoClients.create(mongoUri)) {
+            MongoDatabase db = client.getDatabase(databaseName(mongoUri));
+            db.drop();
+
+            List<Document> groups = new ArrayList<>(groupCount);
+            for (int g = 0; g < groupCount; g++) {
+                groups.add(new Document("_id", "group-" + g).append("name", "Club " + g));
+            }
+            db.getCollection("groups").insertMany(groups);
+
+            List<Document> venues = new ArrayList<>(VENUES);
+            for (int v = 0; v < VENUES; v++) {
+                venues.add(new Document("_id", "venue-" + v).append("name", "Venue " + v)
+                        .append("location", v + " Court St").append("courtCount", 4)
+                        .append("groupId", "group-" + (v % groupCount)));
+            }
+            db.getCollection("venues").insertMany(venues);
+
+            db.getCollection("users").insertOne(new Document("_id", LoadTest.ADMIN_USER_ID)
+                    .append("name", "Load Test Admin")
+                    .append("email", LoadTest.ADMIN_EMAIL)
+                    .append("systemRole", "ADMIN")
+                    .append("memberships", new Document()));
+
+            // Players belong to one club each; matches are played within a club
+            String[] playerIds = new String[playerCount];
+            List<Document> players = new ArrayList<>(playerCount);
+            for (int p = 0; p < playerCount; p++) {
+                playerIds[p] = new UUID(random.nextLong(), random.nextLong()).toString();
+                players.add(new Document("_id", playerIds[p])
+                        .append("name", "Player " + p)
+                        .append("email", "player" + p + "@example.com")
+                        .append("joinedDate", new Date())
+                        .append("rating", 1200.0)
+                        .append("systemRole", "USER")
+                        .append("memberships", new Document("group-" + (p % groupCount), "VIEWER")));
+            }
+            insertInBatches(db.getCollection("players"), players);
+
+            MongoCollection<Document> matches = db.getCollection("matches");
+            Instant start = Instant.now().minus(Duration.ofDays(3 * 365));
+            long stepMillis = Duration.ofDays(3 * 365).toMillis() / Math.max(1, matchCount);
+            List<Document> batch = new ArrayList<>(BATCH_SIZE);
+            for (int m = 0; m < matchCount; m++) {
+                int group = random.nextInt(groupCount);
+                boolean doubles = random.nextInt(10) < 8;
+                List<String> picked = pickFromGroup(random, playerIds, group, groupCount, doubles ? 4 : 2);
+                int teamSize = picked.size() / 2;
+                boolean teamAWon = random.nextBoolean();
+                int loserScore = random.nextInt(10);
+                batch.add(new Document("_id", new UUID(random.nextLong(), random.nextLong()).toString())
+                        .append("date", Date.from(start.plusMillis(stepMillis * m)))
+                        .append("type", doubles ? "Doubles" : "Singles")
+                        .append("teamA", picked.subList(0, teamSize))
+                        .append("teamB", picked.subList(teamSize, picked.size()))
+                        .append("scoreA", teamAWon ? 11 : loserScore)
+                        .append("scoreB", teamAWon ? loserScore : 11)
+                        .append("venueId", "venue-" + random.nextInt(VENUES))
+                        .append("courtNumber", 1 + random.nextInt(4))
+                        .append("groupId", "group-" + group)
+                        .append("userId", LoadTest.ADMIN_USER_ID));
+                if (batch.size() == BATCH_SIZE) {
+                    matches.insertMany(batch, new InsertManyOptions().ordered(false));
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    if ((m + 1) % (BATCH_SIZE * 10) == 0) {
+                        System.out.printf("  %,d / %,d matches%n", m + 1, matchCount);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                matches.insertMany(batch, new InsertManyOptions().ordered(false));
+            }
+        }
+
+        System.out.printf("Seeded %,d groups, %,d players, %,d matches in %.1fs%n", groupCount, playerCount,
+                matchCount, (System.nanoTime() - started) / 1e9);
+    }
+
+    static String databaseName(String mongoUri) {
+        String name = new ConnectionString(mongoUri).getDatabase();
+        return name == null ? "picklepro-loadtest" : name;
+    }
+
+    private static List<String> pickFromGroup(Random random, String[] playerIds, int group, int groupCount, int n) {
+        int membersInGroup = (playerIds.length - group + groupCount - 1) / groupCount;
+        List<String> picked = new ArrayList<>(n);
+        while (picked.size() < n) {
+            String id = playerIds[group + groupCount * random.nextInt(membersInGroup)];
+            if (!picked.contains(id)) {
+                picked.add(id);
+            }
+        }
+        return picked;
+    }
+
+    private static void insertInBatches(MongoCollection<Document> collection, List<Document> documents) {
+        for (int from = 0; from < documents.size(); from += BATCH_SIZE) {
+            collection.insertMany(documents.subList(from, Math.min(from + BATCH_SIZE, documents.size())),
+                    new InsertManyOptions().ordered(false));
+        }
+    }
+}
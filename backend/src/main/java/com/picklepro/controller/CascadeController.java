@@ -0,0 +1,31 @@
+package com.picklepro.controller;
+
+import com.picklepro.dto.CascadeReport;
+import com.picklepro.service.CascadeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/cascades")
+@RequiredArgsConstructor
+public class CascadeController {
+
+    private final CascadeService cascadeService;
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CascadeReport> getReport(@PathVariable String id) {
+        return cascadeService.getReport(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Cascades still running in the background are reported as 202 Accepted
+    static ResponseEntity<CascadeReport> toResponse(CascadeReport report) {
+        HttpStatus status = report.getStatus() == CascadeReport.Status.RUNNING ? HttpStatus.ACCEPTED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(report);
+    }
+}
@@ -0,0 +1,63 @@
+package com.picklepro.controller;
+
+import com.picklepro.dto.EventStreamToken;
+import com.picklepro.model.User;
+import com.picklepro.security.JwtTokenProvider;
+import com.picklepro.service.GroupService;
+import com.picklepro.service.LiveEventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final LiveEventService liveEventService;
+    private final JwtTokenProvider tokenProvider;
+    private final GroupService groupService;
+
+    /**
+     * Server-Sent Events stream of match_created, match_deleted and ratings_changed events
+     * for one group (or all groups). Browsers' EventSource cannot set headers, so this path
+     * also accepts an event-stream token from {@link #token} as an access_token query
+     * parameter. A group's stream is open to its members and system admins; the unscoped
+     * stream carries every group's events, so only system admins may open it.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@AuthenticationPrincipal User user,
+            @RequestParam(required = false) String groupId) {
+        if (groupId != null) {
+            requireGroupAccess(user, groupId);
+        } else if (user.getSystemRole() != User.SystemRole.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "groupId is required");
+        }
+        return liveEventService.subscribe(groupId);
+    }
+
+    /**
+     * Issues a short-lived token for opening the event stream, so the session JWT never has
+     * to appear in a URL. Only needed when connecting; an open stream is not cut off.
+     */
+    @PostMapping("/token")
+    public ResponseEntity<EventStreamToken> token(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(new EventStreamToken(tokenProvider.generateEventStreamToken(user.getId()),
+                tokenProvider.getEventStreamTtl() / 1000));
+    }
+
+    private void requireGroupAccess(User user, String groupId) {
+        if (!groupService.exists(groupId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Group not found");
+        }
+        boolean isMember = user.getMemberships() != null && user.getMemberships().containsKey(groupId);
+        if (user.getSystemRole() != User.SystemRole.ADMIN && !isMember) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a member of this group");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.picklepro.controller;
+
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
+import com.picklepro.service.ExportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/v1/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    @GetMapping("/matches")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('GROUP_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMatches(@AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String groupId) {
+        requireExportScope(user, groupId);
+        ExportService.Format exportFormat = parseFormat(format);
+        return download("matches", exportFormat,
+                out -> exportService.exportMatches(exportFormat, from, to, groupId, out));
+    }
+
+    @GetMapping("/players")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('GROUP_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportPlayers(@AuthenticationPrincipal User user,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String groupId) {
+        requireExportScope(user, groupId);
+        ExportService.Format exportFormat = parseFormat(format);
+        return download("players", exportFormat, out -> exportService.exportPlayers(exportFormat, groupId, out));
+    }
+
+    // System admins may export everything, group admins only a group they administer
+    private void requireExportScope(User user, String groupId) {
+        if (user.getSystemRole() == User.SystemRole.ADMIN) {
+            return;
+        }
+        boolean isGroupAdmin = groupId != null && user.getMemberships() != null
+                && user.getMemberships().get(groupId) == Role.GROUP_ADMIN;
+        if (!isGroupAdmin) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Group admins can only export a group they administer; pass its groupId");
+        }
+    }
+
+    private ExportService.Format parseFormat(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportService.Format format,
+            StreamingResponseBody body) {
+        boolean csv = format == ExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"")
+                .body(body);
+    }
+}
@@ -1,13 +1,16 @@
 package com.picklepro.controller;
 
+import com.picklepro.dto.CascadeReport;
 import com.picklepro.model.Group;
 import com.picklepro.model.Role;
+import com.picklepro.service.CollectionVersions;
 import com.picklepro.service.GroupService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,10 +20,12 @@ import java.util.List;
 public class GroupController {
 
     private final GroupService groupService;
+    private final CollectionVersions versions;
 
     @GetMapping
-    public ResponseEntity<List<Group>> getGroups() {
-        return ResponseEntity.ok(groupService.getAllGroups());
+    public ResponseEntity<List<Group>> getGroups(WebRequest request) {
+        return ConditionalGet.respond(request, versions.etag(CollectionVersions.Collection.GROUPS),
+                groupService::getAllGroups);
     }
 
     @PostMapping
@@ -30,6 +35,12 @@ public class GroupController {
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @DeleteMapping("/{groupId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CascadeReport> deleteGroup(@PathVariable String groupId) {
+        return CascadeController.toResponse(groupService.deleteGroup(groupId));
+    }
+
     @PostMapping("/{groupId}/members/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> addMember(@PathVariable String groupId,
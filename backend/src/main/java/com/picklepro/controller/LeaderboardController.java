@@ -0,0 +1,39 @@
+package com.picklepro.controller;
+
+import com.picklepro.dto.LeaderboardEntry;
+import com.picklepro.service.LeaderboardIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardIndex leaderboards;
+
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntry>> getTop(@RequestParam(required = false) String groupId,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(leaderboards.top(groupId, limit));
+    }
+
+    @GetMapping("/players/{playerId}")
+    public ResponseEntity<LeaderboardEntry> getRank(@PathVariable String playerId,
+            @RequestParam(required = false) String groupId) {
+        return leaderboards.rankOf(groupId, playerId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/players/{playerId}/around")
+    public ResponseEntity<List<LeaderboardEntry>> getAround(@PathVariable String playerId,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(defaultValue = "5") int radius) {
+        List<LeaderboardEntry> entries = leaderboards.around(groupId, playerId, radius);
+        return entries.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(entries);
+    }
+}
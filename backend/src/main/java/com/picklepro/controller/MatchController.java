@@ -1,17 +1,30 @@
 package com.picklepro.controller;
 
+import com.picklepro.dto.MatchPage;
 import com.picklepro.dto.MatchResponse;
 import com.picklepro.model.Match;
 import com.picklepro.model.User;
+import com.picklepro.service.CollectionVersions;
+import com.picklepro.service.MatchBatcher;
+import com.picklepro.service.MatchImportService;
 import com.picklepro.service.MatchService;
+import com.picklepro.service.ReactiveReadService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -20,21 +33,71 @@ import java.util.List;
 public class MatchController {
 
     private final MatchService matchService;
+    private final MatchBatcher matchBatcher;
+    private final MatchImportService matchImportService;
+    private final ReactiveReadService reactiveReadService;
+    private final CollectionVersions versions;
+
+    private static final String NDJSON = "application/x-ndjson";
 
     @GetMapping
-    public ResponseEntity<List<MatchResponse>> getMatches() {
-        List<MatchResponse> matches = matchService.getAllMatches();
-        return ResponseEntity.ok(matches);
+    public ResponseEntity<List<MatchResponse>> getMatches(WebRequest request) {
+        return ConditionalGet.respond(request, versions.etag(CollectionVersions.Collection.MATCHES),
+                matchService::getAllMatches);
+    }
+
+    /**
+     * Streams every match (newest first) as NDJSON, pulled from the database only as fast as
+     * the client reads.
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public Flux<MatchResponse> streamMatches(@RequestParam(required = false) String groupId) {
+        return reactiveReadService.streamMatches(groupId);
+    }
+
+    @GetMapping("/feed")
+    public ResponseEntity<MatchPage> getMatchFeed(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String venueId,
+            @RequestParam(required = false) Match.MatchType type,
+            WebRequest request) {
+        try {
+            return ConditionalGet.respond(request, versions.etag(CollectionVersions.Collection.MATCHES, groupId),
+                    () -> matchService.getMatchFeed(groupId, venueId, type, after, limit));
+        } catch (IllegalArgumentException e) {
+            // A malformed cursor
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
     }
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('GROUP_ADMIN')")
     public ResponseEntity<MatchResponse> createMatch(@AuthenticationPrincipal User user,
             @Valid @RequestBody Match match) {
-        MatchResponse created = matchService.createMatch(match, user.getId());
+        MatchResponse created = matchBatcher.createMatch(match, user.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
+    @PostMapping(value = "/import", consumes = { "text/csv", NDJSON }, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('GROUP_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importMatches(@AuthenticationPrincipal User user,
+            HttpServletRequest request,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(defaultValue = "false") boolean replay) throws IOException {
+        if (replay && user.getSystemRole() != User.SystemRole.ADMIN) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only system admins can replay ratings");
+        }
+        MatchImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                        ? MatchImportService.Format.CSV
+                        : MatchImportService.Format.NDJSON;
+        InputStream body = request.getInputStream();
+        StreamingResponseBody progress = out -> matchImportService.importMatches(body, format, groupId, user,
+                replay, out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(progress);
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or hasRole('GROUP_ADMIN')")
     public ResponseEntity<Void> deleteMatch(@AuthenticationPrincipal User user,
@@ -1,18 +1,30 @@
 package com.picklepro.controller;
 
+import com.picklepro.dto.CascadeReport;
+import com.picklepro.dto.PlayerPage;
+import com.picklepro.dto.PlayerSearchResult;
+import com.picklepro.dto.PlayerView;
 import com.picklepro.model.Player;
 import com.picklepro.model.Role;
 import com.picklepro.model.User;
+import com.picklepro.service.CollectionVersions;
+import com.picklepro.service.PlayerSearchIndex;
 import com.picklepro.service.PlayerService;
+import com.picklepro.service.ReactiveReadService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/v1/players")
@@ -20,11 +32,56 @@ import java.util.List;
 public class PlayerController {
 
     private final PlayerService playerService;
+    private final ReactiveReadService reactiveReadService;
+    private final CollectionVersions versions;
+    private final PlayerSearchIndex playerSearch;
 
     @GetMapping
-    public ResponseEntity<List<Player>> getPlayers() {
-        List<Player> players = playerService.getAllPlayers();
-        return ResponseEntity.ok(players);
+    public ResponseEntity<List<PlayerView>> getPlayers(@RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        try {
+            return ConditionalGet.respond(request, versions.etag(CollectionVersions.Collection.PLAYERS, groupId),
+                    () -> playerService.getPlayers(groupId, fields));
+        } catch (IllegalArgumentException e) {
+            // An unknown field name
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Keyset-paginated listing ordered by (name, id); same filters as the full listing.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PlayerPage> getPlayerPage(@RequestParam(required = false) String groupId,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(playerService.getPlayerPage(groupId, fields, after, limit));
+        } catch (IllegalArgumentException e) {
+            // A malformed cursor or an unknown field name
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Player> streamPlayers(@RequestParam(required = false) String groupId) {
+        return reactiveReadService.streamPlayers(groupId);
+    }
+
+    /**
+     * Autocomplete over names and emails. Members of groupId (or, without it, of the caller's
+     * groups) rank first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PlayerSearchResult>> searchPlayers(@AuthenticationPrincipal User user,
+            @RequestParam String q,
+            @RequestParam(required = false) String groupId,
+            @RequestParam(required = false) Integer limit) {
+        Set<String> preferredGroups = groupId != null ? Set.of(groupId)
+                : user != null && user.getMemberships() != null ? user.getMemberships().keySet() : Set.of();
+        return ResponseEntity.ok(playerSearch.search(q, preferredGroups, limit));
     }
 
     @GetMapping("/by-email/{email}")
@@ -73,9 +130,10 @@ public class PlayerController {
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Void> deletePlayer(@AuthenticationPrincipal User user,
+    public ResponseEntity<CascadeReport> deletePlayer(@AuthenticationPrincipal User user,
             @PathVariable String id) {
-        playerService.deletePlayer(id, user.getId());
-        return ResponseEntity.noContent().build();
+        return playerService.deletePlayer(id, user.getId())
+                .map(CascadeController::toResponse)
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 }
@@ -0,0 +1,22 @@
+package com.picklepro.controller;
+
+import com.picklepro.dto.RatingReplayResult;
+import com.picklepro.service.RatingWorkers;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/v1/ratings")
+@RequiredArgsConstructor
+public class RatingController {
+
+    private final RatingWorkers ratingWorkers;
+
+    @PostMapping("/replay")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RatingReplayResult> replay(@RequestParam(required = false) String groupId) {
+        return ResponseEntity.ok(ratingWorkers.replay(groupId));
+    }
+}
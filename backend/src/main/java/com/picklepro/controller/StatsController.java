@@ -0,0 +1,49 @@
+package com.picklepro.controller;
+
+import com.picklepro.dto.PairStatsResponse;
+import com.picklepro.dto.PlayerStatsResponse;
+import com.picklepro.service.PairwiseStatsIndex;
+import com.picklepro.service.StatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatsService statsService;
+    private final PairwiseStatsIndex pairwiseStats;
+
+    @GetMapping
+    public ResponseEntity<List<PlayerStatsResponse>> getStats(@RequestParam(required = false) String groupId) {
+        return ResponseEntity.ok(statsService.getStats(groupId));
+    }
+
+    @GetMapping("/head-to-head")
+    public ResponseEntity<PairStatsResponse> getHeadToHead(@RequestParam String playerId,
+            @RequestParam String opponentId) {
+        return pairwiseStats.headToHead(playerId, opponentId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/partnership")
+    public ResponseEntity<PairStatsResponse> getPartnership(@RequestParam String playerId,
+            @RequestParam String partnerId) {
+        return pairwiseStats.partnership(playerId, partnerId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/partners")
+    public ResponseEntity<List<PairStatsResponse>> getPartners(@RequestParam String playerId,
+            @RequestParam(defaultValue = "BEST") PairwiseStatsIndex.Order order,
+            @RequestParam(required = false) Integer minMatches,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(pairwiseStats.partners(playerId, order, minMatches, limit));
+    }
+}
@@ -0,0 +1,42 @@
+package com.picklepro.controller;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs streaming responses (match imports and exports) on their own bounded pool instead of
+ * Boot's application task executor, which also delivers live events and runs async cascades
+ * and index builds. Slow downloads then only hold each other up; once every thread is busy
+ * and the queue is full, new streams are rejected.
+ *
+ * The pool is not a bean, so Boot still creates the application task executor.
+ */
+@Configuration
+public class StreamingConfig implements WebMvcConfigurer {
+
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    public StreamingConfig(@Value("${picklepro.streaming.threads}") int threads,
+            @Value("${picklepro.streaming.queue-capacity}") int queueCapacity) {
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("streaming-");
+        executor.initialize();
+    }
+
+    // Unordered, so this runs after Boot's configurer (order 0), which sets the application task executor
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
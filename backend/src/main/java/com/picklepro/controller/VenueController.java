@@ -2,6 +2,7 @@ package com.picklepro.controller;
 
 import com.picklepro.model.User;
 import com.picklepro.model.Venue;
+import com.picklepro.service.CollectionVersions;
 import com.picklepro.service.VenueService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,10 +20,12 @@ import java.util.List;
 public class VenueController {
 
     private final VenueService venueService;
+    private final CollectionVersions versions;
 
     @GetMapping
-    public ResponseEntity<List<Venue>> getAllVenues() {
-        return ResponseEntity.ok(venueService.getAllVenues());
+    public ResponseEntity<List<Venue>> getAllVenues(WebRequest request) {
+        return ConditionalGet.respond(request, versions.etag(CollectionVersions.Collection.VENUES),
+                venueService::getAllVenues);
     }
 
     @PostMapping
@@ -0,0 +1,32 @@
+package com.picklepro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@Builder
+public class CascadeReport {
+
+    public enum Target {
+        PLAYER, GROUP
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private String id;
+    private Target target;
+    private String targetId;
+    private Status status;
+    // Documents modified or removed, keyed by collection (e.g. "matches", "users")
+    @Builder.Default
+    private Map<String, Long> touched = new LinkedHashMap<>();
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+}
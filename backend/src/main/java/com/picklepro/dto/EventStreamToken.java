@@ -0,0 +1,13 @@
+package com.picklepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStreamToken {
+    private String token;
+    private long expiresInSeconds;
+}
@@ -0,0 +1,14 @@
+package com.picklepro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class LeaderboardEntry {
+    // 1-based; ties in rating are ordered by player ID
+    private int rank;
+    private String playerId;
+    private String name;
+    private double rating;
+}
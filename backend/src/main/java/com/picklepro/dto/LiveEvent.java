@@ -0,0 +1,30 @@
+package com.picklepro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Change notification pushed to /v1/events subscribers. Events without a groupId (imports,
+ * replays) go to every subscriber.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LiveEvent {
+
+    public enum Type {
+        match_created, match_deleted, ratings_changed
+    }
+
+    private Type type;
+    private String groupId;
+    // The new match, for match_created
+    private MatchResponse match;
+    // For match_deleted
+    private String matchId;
+    // New rating by player ID, for ratings_changed
+    private Map<String, Double> ratings;
+}
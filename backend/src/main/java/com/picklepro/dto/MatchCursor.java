@@ -0,0 +1,39 @@
+package com.picklepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the match feed. Matches are ordered by (date desc, id desc),
+ * so the cursor carries both values of the last match a client has seen.
+ */
+@Data
+@AllArgsConstructor
+public class MatchCursor {
+
+    private Instant date;
+    private String id;
+
+    public String encode() {
+        String raw = date.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MatchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new MatchCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, sep))),
+                    raw.substring(sep + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
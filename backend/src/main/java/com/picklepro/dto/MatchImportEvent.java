@@ -0,0 +1,26 @@
+package com.picklepro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One line of the NDJSON progress stream returned by a match import.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MatchImportEvent {
+
+    public enum Type {
+        progress, error, complete
+    }
+
+    private Type type;
+    // Source line number, for error events
+    private Long row;
+    private String message;
+    private Long rowsRead;
+    private Long imported;
+    private Long failed;
+}
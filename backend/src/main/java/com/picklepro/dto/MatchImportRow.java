@@ -0,0 +1,25 @@
+package com.picklepro.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One row of a match import, as read from CSV or NDJSON. Team members may be given as
+ * player IDs, names or email addresses.
+ */
+@Data
+@NoArgsConstructor
+public class MatchImportRow {
+    private String date;
+    private String type;
+    private List<String> teamA;
+    private List<String> teamB;
+    private Integer scoreA;
+    private Integer scoreB;
+    private String venueId;
+    private Integer courtNumber;
+    private String notes;
+    private String groupId;
+}
@@ -0,0 +1,16 @@
+package com.picklepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchPage {
+    private List<MatchResponse> items;
+    // Opaque cursor for the next page, null when there are no more matches
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package com.picklepro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Record of one player against, or alongside, another player.
+ */
+@Data
+@Builder
+public class PairStatsResponse {
+    private String playerId;
+    private String name;
+    private String otherPlayerId;
+    private String otherName;
+    private int matchesPlayed;
+    private int wins;
+    private int losses;
+    private double winRate;
+    // Points scored minus points conceded over these matches
+    private long pointDifferential;
+}
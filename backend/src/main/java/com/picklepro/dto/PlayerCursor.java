@@ -0,0 +1,37 @@
+package com.picklepro.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the player listing, ordered by (name, id).
+ */
+@Data
+@AllArgsConstructor
+public class PlayerCursor {
+
+    private String name;
+    private String id;
+
+    public String encode() {
+        String raw = name + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PlayerCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // Names may contain ':', IDs do not
+            int sep = raw.lastIndexOf(':');
+            if (sep < 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new PlayerCursor(raw.substring(0, sep), raw.substring(sep + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
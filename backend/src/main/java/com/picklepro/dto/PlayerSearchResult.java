@@ -0,0 +1,19 @@
+package com.picklepro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerSearchResult {
+    private String id;
+    private String name;
+    private String email;
+    // True when the player belongs to one of the groups the search was ranked for
+    private boolean member;
+    private Instant lastPlayedAt;
+}
@@ -0,0 +1,18 @@
+package com.picklepro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PlayerStatsResponse {
+    private String playerId;
+    private String name;
+    private String groupId;
+    private int matchesPlayed;
+    private int wins;
+    private int losses;
+    private double winRate;
+    private double avgPointsFor;
+    private double avgPointsAgainst;
+}
@@ -0,0 +1,31 @@
+package com.picklepro.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Player as read for listings, possibly with only some fields projected. Unlike
+ * {@link com.picklepro.model.Player} it has no defaults, so fields that were not loaded
+ * stay null and are left out of the JSON.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlayerView {
+    private String id;
+    private String name;
+    private String email;
+    private String contactNumber;
+    private Map<String, String> socialMedia;
+    private Instant joinedDate;
+    private String userId;
+    private Double rating;
+    private User.SystemRole systemRole;
+    private Map<String, Role> memberships;
+}
@@ -0,0 +1,19 @@
+package com.picklepro.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class RatingReplayResult {
+    private String groupId;
+    private int matchesReplayed;
+    private int playersRated;
+    private long elapsedMillis;
+    // Whether Player.rating and the ledger were rewritten (global replays only)
+    private boolean persisted;
+    // Replayed ratings by player ID, returned for group replays which are not persisted
+    private Map<String, Double> ratings;
+}
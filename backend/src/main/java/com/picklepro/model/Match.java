@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.Min;
@@ -18,6 +20,15 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "matches")
+@CompoundIndexes({
+        // Keyset feed order (date desc, id desc), optionally narrowed by group, venue or type
+        @CompoundIndex(name = "feed_date_id", def = "{'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "feed_group_date_id", def = "{'groupId': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "feed_venue_date_id", def = "{'venueId': 1, 'date': -1, '_id': -1}"),
+        @CompoundIndex(name = "feed_type_date_id", def = "{'type': 1, 'date': -1, '_id': -1}"),
+        // A user's match history, newest first
+        @CompoundIndex(name = "user_date", def = "{'userId': 1, 'date': -1}")
+})
 public class Match {
 
     @Id
@@ -29,9 +40,11 @@ public class Match {
     @NotNull(message = "Match type is required")
     private MatchType type;
 
+    @Indexed
     @NotNull(message = "Team A is required")
     private List<String> teamA;
 
+    @Indexed
     @NotNull(message = "Team B is required")
     private List<String> teamB;
 
@@ -47,7 +60,6 @@ public class Match {
 
     private Integer courtNumber;
 
-    @Indexed
     private String userId;
 
     @Indexed
@@ -7,7 +7,9 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.WildcardIndexed;
 
 import jakarta.validation.constraints.NotBlank;
 import java.time.Instant;
@@ -19,6 +21,8 @@ import java.util.HashMap;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "players")
+// Listing order, paged by (name, id)
+@CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}")
 public class Player {
 
     @Id
@@ -46,6 +50,8 @@ public class Player {
     @Builder.Default
     private User.SystemRole systemRole = User.SystemRole.USER;
 
+    // memberships.$** so group cascades can find members of a group by key
+    @WildcardIndexed
     @Builder.Default
     private Map<String, Role> memberships = new HashMap<>();
 }
@@ -0,0 +1,48 @@
+package com.picklepro.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running match totals for one player, either across all matches (groupId == null)
+ * or within a single group. Maintained incrementally as matches are created and deleted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "player_stats")
+@CompoundIndex(name = "group_player", def = "{'groupId': 1, 'playerId': 1}")
+public class PlayerStats {
+
+    public static final String GLOBAL_SCOPE = "_all";
+
+    @Id
+    private String id;
+
+    // Player deletion cascades remove every scope at once
+    @Indexed
+    private String playerId;
+
+    private String groupId;
+
+    private int matchesPlayed;
+
+    private int wins;
+
+    private int losses;
+
+    private long pointsFor;
+
+    private long pointsAgainst;
+
+    public static String idFor(String groupId, String playerId) {
+        return (groupId == null ? GLOBAL_SCOPE : groupId) + ":" + playerId;
+    }
+}
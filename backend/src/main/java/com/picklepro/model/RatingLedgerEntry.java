@@ -0,0 +1,34 @@
+package com.picklepro.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Rating changes applied for one match, keyed by the match id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "rating_ledger")
+public class RatingLedgerEntry {
+
+    @Id
+    private String matchId;
+
+    private String groupId;
+
+    private Instant date;
+
+    private double kFactor;
+
+    // Player ID -> rating delta applied by this match
+    private Map<String, Double> deltas;
+}
@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.WildcardIndexed;
 import java.util.Map;
 import java.util.HashMap;
 
@@ -27,11 +28,14 @@ public class User {
 
     private String picture;
 
+    @Indexed(sparse = true)
     private String googleId;
 
     @Builder.Default
     private SystemRole systemRole = SystemRole.USER;
 
+    // memberships.$** so group cascades can find members of a group by key
+    @WildcardIndexed
     @Builder.Default
     private Map<String, Role> memberships = new HashMap<>();
 
@@ -1,8 +1,13 @@
 package com.picklepro.repository;
 
-import com.picklepro.dto.MatchResponse;
+import com.picklepro.dto.MatchCursor;
+import com.picklepro.model.Match;
+import com.picklepro.model.Match.MatchType;
 import java.util.List;
+import java.util.Map;
 
 public interface MatchRepositoryCustom {
-    List<MatchResponse> findAllMatchesWithPlayerNames();
+    List<Match> findMatchPage(String groupId, String venueId, MatchType type, MatchCursor after, int limit);
+
+    Map<Integer, String> insertUnordered(List<Match> matches);
 }
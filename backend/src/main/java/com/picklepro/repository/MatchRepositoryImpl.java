@@ -1,17 +1,22 @@
 package com.picklepro.repository;
 
-import com.picklepro.dto.MatchResponse;
+import com.picklepro.dto.MatchCursor;
 import com.picklepro.model.Match;
+import com.picklepro.model.Match.MatchType;
+import com.mongodb.bulk.BulkWriteError;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.LookupOperation;
-import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-
-import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+import java.util.Map;
 
 @Repository
 @RequiredArgsConstructor
@@ -20,42 +25,48 @@ public class MatchRepositoryImpl implements MatchRepositoryCustom {
         private final MongoTemplate mongoTemplate;
 
         @Override
-        public List<MatchResponse> findAllMatchesWithPlayerNames() {
-                // Lookup for Team A players
-                LookupOperation lookupTeamA = LookupOperation.newLookup()
-                                .from("players")
-                                .localField("teamA")
-                                .foreignField("_id")
-                                .as("teamAPlayers");
-
-                // Lookup for Team B players
-                LookupOperation lookupTeamB = LookupOperation.newLookup()
-                                .from("players")
-                                .localField("teamB")
-                                .foreignField("_id")
-                                .as("teamBPlayers");
-
-                // Project fields to match MatchResponse
-                ProjectionOperation project = project()
-                                .and("id").as("id")
-                                .and("date").as("date")
-                                .and("type").as("type")
-                                .and("scoreA").as("scoreA")
-                                .and("scoreB").as("scoreB")
-                                .and("notes").as("notes")
-                                .and("venueId").as("venueId")
-                                .and("courtNumber").as("courtNumber")
-                                .and("userId").as("userId")
-                                .and("groupId").as("groupId")
-                                .and("teamAPlayers.name").as("teamANames")
-                                .and("teamBPlayers.name").as("teamBNames");
-
-                Aggregation aggregation = newAggregation(
-                                sort(org.springframework.data.domain.Sort.Direction.DESC, "date"),
-                                lookupTeamA,
-                                lookupTeamB,
-                                project);
-
-                return mongoTemplate.aggregate(aggregation, Match.class, MatchResponse.class).getMappedResults();
+        public List<Match> findMatchPage(String groupId, String venueId, MatchType type, MatchCursor after,
+                        int limit) {
+                List<Criteria> filters = new ArrayList<>();
+                if (groupId != null)
+                        filters.add(Criteria.where("groupId").is(groupId));
+                if (venueId != null)
+                        filters.add(Criteria.where("venueId").is(venueId));
+                if (type != null)
+                        filters.add(Criteria.where("type").is(type));
+                if (after != null) {
+                        // Keyset condition on (date desc, id desc): strictly after the cursor position
+                        filters.add(new Criteria().orOperator(
+                                        Criteria.where("date").lt(after.getDate()),
+                                        Criteria.where("date").is(after.getDate()).and("id").lt(after.getId())));
+                }
+
+                Query query = filters.isEmpty() ? new Query()
+                                : new Query(new Criteria().andOperator(filters.toArray(new Criteria[0])));
+                query.with(Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "id")));
+                query.limit(limit);
+
+                return mongoTemplate.find(query, Match.class);
+        }
+
+        /**
+         * Inserts the matches with one unordered bulk write, so a rejected match does not stop
+         * the others.
+         *
+         * @return the error message for each rejected match, keyed by its position in the list
+         */
+        @Override
+        public Map<Integer, String> insertUnordered(List<Match> matches) {
+                Map<Integer, String> rejected = new HashMap<>();
+                if (matches.isEmpty())
+                        return rejected;
+                try {
+                        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Match.class).insert(matches).execute();
+                } catch (BulkOperationException e) {
+                        for (BulkWriteError error : e.getErrors()) {
+                                rejected.put(error.getIndex(), error.getMessage());
+                        }
+                }
+                return rejected;
         }
 }
@@ -7,11 +7,11 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface PlayerRepository extends MongoRepository<Player, String> {
+public interface PlayerRepository extends MongoRepository<Player, String>, PlayerRepositoryCustom {
 
     List<Player> findByUserId(String userId);
 
     java.util.Optional<Player> findByEmail(String email);
 
-    void deleteByIdAndUserId(String id, String userId);
+    long deleteByIdAndUserId(String id, String userId);
 }
@@ -0,0 +1,10 @@
+package com.picklepro.repository;
+
+import com.picklepro.dto.PlayerCursor;
+import com.picklepro.dto.PlayerView;
+import java.util.List;
+import java.util.Set;
+
+public interface PlayerRepositoryCustom {
+    List<PlayerView> findPlayerViews(String groupId, Set<String> fields, PlayerCursor after, int limit);
+}
@@ -0,0 +1,46 @@
+package com.picklepro.repository;
+
+import com.picklepro.dto.PlayerCursor;
+import com.picklepro.dto.PlayerView;
+import com.picklepro.model.Player;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Repository
+@RequiredArgsConstructor
+public class PlayerRepositoryImpl implements PlayerRepositoryCustom {
+
+        private final MongoTemplate mongoTemplate;
+
+        /**
+         * Players ordered by (name, id), optionally limited to members of a group and to the given
+         * fields (null for all fields). A limit of 0 returns every player.
+         */
+        @Override
+        public List<PlayerView> findPlayerViews(String groupId, Set<String> fields, PlayerCursor after, int limit) {
+                List<Criteria> filters = new ArrayList<>();
+                if (groupId != null)
+                        filters.add(Criteria.where("memberships." + groupId).exists(true));
+                if (after != null) {
+                        filters.add(new Criteria().orOperator(
+                                        Criteria.where("name").gt(after.getName()),
+                                        Criteria.where("name").is(after.getName()).and("id").gt(after.getId())));
+                }
+                Query query = filters.isEmpty() ? new Query()
+                                : new Query(new Criteria().andOperator(filters.toArray(new Criteria[0])));
+                if (fields != null) {
+                        fields.forEach(query.fields()::include);
+                }
+                query.with(Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id")));
+                query.limit(limit);
+                return mongoTemplate.find(query, PlayerView.class, mongoTemplate.getCollectionName(Player.class));
+        }
+}
@@ -0,0 +1,14 @@
+package com.picklepro.repository.reactive;
+
+import com.picklepro.model.Match;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveMatchRepository extends ReactiveMongoRepository<Match, String> {
+
+    Flux<Match> findAllByOrderByDateDesc();
+
+    Flux<Match> findByGroupIdOrderByDateDesc(String groupId);
+}
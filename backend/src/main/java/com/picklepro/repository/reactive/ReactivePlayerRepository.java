@@ -0,0 +1,9 @@
+package com.picklepro.repository.reactive;
+
+import com.picklepro.model.Player;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactivePlayerRepository extends ReactiveMongoRepository<Player, String> {
+}
@@ -0,0 +1,15 @@
+package com.picklepro.security;
+
+import com.picklepro.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class CachedPrincipal {
+    private final User user;
+    private final List<GrantedAuthority> authorities;
+}
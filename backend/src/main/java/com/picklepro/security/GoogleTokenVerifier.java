@@ -0,0 +1,121 @@
+package com.picklepro.security;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single Google ID token verifier shared by all logins. Google's signing certificates are
+ * cached by the {@link GooglePublicKeysManager} and refreshed on a background thread shortly
+ * before they expire, so a login never waits on the certificate download. The certificate
+ * URL is configurable so a local key server can stand in for Google.
+ */
+@Slf4j
+@Component
+public class GoogleTokenVerifier {
+
+    private static final Duration RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final GooglePublicKeysManager publicKeys;
+    private final GoogleIdTokenVerifier verifier;
+    private final Duration refreshAhead;
+    private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("google-certs-refresh").daemon().factory());
+    private final Timer verifyTimer;
+    private final Counter invalidTokens;
+    private final Counter verificationErrors;
+
+    public GoogleTokenVerifier(@Value("${google.client-id}") String clientId,
+            @Value("${google.certs-url}") String certsUrl,
+            @Value("${google.certs-refresh-ahead-seconds}") long refreshAheadSeconds,
+            MeterRegistry meterRegistry) {
+        this.publicKeys = new GooglePublicKeysManager.Builder(new NetHttpTransport(), GsonFactory.getDefaultInstance())
+                .setPublicCertsEncodedUrl(certsUrl)
+                .build();
+        this.verifier = new GoogleIdTokenVerifier.Builder(publicKeys)
+                .setAudience(Collections.singletonList(clientId))
+                .build();
+        this.refreshAhead = Duration.ofSeconds(refreshAheadSeconds);
+        this.verifyTimer = Timer.builder("picklepro.auth.google.verify")
+                .description("Google ID token signature and claim verification")
+                .register(meterRegistry);
+        this.invalidTokens = Counter.builder("picklepro.auth.google.failures").tag("reason", "invalid")
+                .register(meterRegistry);
+        this.verificationErrors = Counter.builder("picklepro.auth.google.failures").tag("reason", "error")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresher.execute(this::refresh);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Verifies the token's signature, audience, issuer and expiry.
+     *
+     * @return the token payload, or null if the token is not valid
+     */
+    public GoogleIdToken.Payload verify(String idToken) throws GeneralSecurityException, IOException {
+        Timer.Sample sample = Timer.start();
+        try {
+            GoogleIdToken token = verifier.verify(idToken);
+            if (token == null) {
+                invalidTokens.increment();
+                return null;
+            }
+            return token.getPayload();
+        } catch (IllegalArgumentException e) {
+            // Malformed token
+            invalidTokens.increment();
+            return null;
+        } catch (GeneralSecurityException | IOException e) {
+            verificationErrors.increment();
+            throw e;
+        } finally {
+            sample.stop(verifyTimer);
+        }
+    }
+
+    private void refresh() {
+        Duration next;
+        try {
+            publicKeys.refresh();
+            long untilExpiry = publicKeys.getExpirationTimeMilliseconds() - System.currentTimeMillis();
+            next = Duration.ofMillis(untilExpiry).minus(refreshAhead);
+            if (next.compareTo(RETRY_DELAY) < 0) {
+                next = RETRY_DELAY;
+            }
+            log.debug("Refreshed {} Google signing certificates, next refresh in {}", publicKeys.getPublicKeys().size(),
+                    next);
+        } catch (GeneralSecurityException | IOException | RuntimeException e) {
+            // Logins still refresh on demand if the cached certificates expire meanwhile
+            log.warn("Failed to refresh Google signing certificates, retrying in {}", RETRY_DELAY, e);
+            next = RETRY_DELAY;
+        }
+        refresher.schedule(this::refresh, next.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
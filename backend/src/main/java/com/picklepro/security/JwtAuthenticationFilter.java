@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,6 +19,8 @@ import com.picklepro.model.User;
 import com.picklepro.repository.PlayerRepository;
 import com.picklepro.repository.UserRepository;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -30,46 +33,39 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    private static final String EVENTS_PATH = "/v1/events";
+
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final PlayerRepository playerRepository;
+    private final PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
-
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userId = tokenProvider.getUserIdFromToken(jwt);
-
-                User user = userRepository.findById(userId).orElse(null);
-                Player player = playerRepository.findById(userId).orElse(null);
-                if (player != null && user != null) {
-                    if (!player.getMemberships().equals(user.getMemberships())) {
-                        user.setMemberships(player.getMemberships());
-                        userRepository.save(user);
-                    }
-                }
-                if (user != null) {
-                    List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getSystemRole().name()));
-
-                    // Add ROLE_GROUP_ADMIN if they are admin in any group
-                    boolean isGroupAdmin = false;
-                    if (user.getMemberships() != null) {
-                        isGroupAdmin = user.getMemberships().values().stream()
-                                .anyMatch(role -> role == Role.GROUP_ADMIN);
-                    }
+            String jwt = getJwtFromHeader(request);
+            // EventSource cannot send headers, so the event stream takes a token as a parameter
+            boolean fromQuery = jwt == null && EVENTS_PATH.equals(request.getServletPath());
+            if (fromQuery) {
+                jwt = request.getParameter("access_token");
+            }
 
-                    if (isGroupAdmin) {
-                        authorities.add(new SimpleGrantedAuthority("ROLE_GROUP_ADMIN"));
-                    }
+            Claims parsed = StringUtils.hasText(jwt) ? tokenProvider.parseClaims(jwt).orElse(null) : null;
+            // Only short-lived event-stream tokens are accepted in the URL, and they are good for nothing else
+            final Claims claims = parsed != null && tokenProvider.isEventStreamToken(parsed) == fromQuery
+                    ? parsed : null;
 
+            if (claims != null) {
+                // Trust embedded role claims while they are fresh, otherwise resolve through the cache
+                CachedPrincipal principal = tokenProvider.getUserFromClaims(claims)
+                        .map(this::toPrincipal)
+                        .orElseGet(() -> principalCache.get(claims.getSubject(), this::loadPrincipal));
+                if (principal != null) {
                     // Re-attach the principal with authorities
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(user,
-                            null, authorities);
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            principal.getUser(), null, principal.getAuthorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -82,7 +78,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
+    private CachedPrincipal loadPrincipal(String userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        Player player = playerRepository.findById(userId).orElse(null);
+        if (player != null && user != null) {
+            if (!player.getMemberships().equals(user.getMemberships())) {
+                user.setMemberships(player.getMemberships());
+                userRepository.save(user);
+            }
+        }
+        return user == null ? null : toPrincipal(user);
+    }
+
+    private CachedPrincipal toPrincipal(User user) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getSystemRole().name()));
+
+        // Add ROLE_GROUP_ADMIN if they are admin in any group
+        boolean isGroupAdmin = false;
+        if (user.getMemberships() != null) {
+            isGroupAdmin = user.getMemberships().values().stream()
+                    .anyMatch(role -> role == Role.GROUP_ADMIN);
+        }
+
+        if (isGroupAdmin) {
+            authorities.add(new SimpleGrantedAuthority("ROLE_GROUP_ADMIN"));
+        }
+
+        return new CachedPrincipal(user, List.copyOf(authorities));
+    }
+
+    private String getJwtFromHeader(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
@@ -1,8 +1,14 @@
 package com.picklepro.security;
 
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,53 +16,156 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    static final String ROLE_CLAIM = "role";
+    static final String EMAIL_CLAIM = "email";
+    static final String MEMBERSHIPS_CLAIM = "memberships";
+    // Embedded role claims are only trusted until this instant, even though the token lives longer
+    static final String AUTHZ_EXPIRY_CLAIM = "authzExp";
+    // Marks tokens that may only open the event stream
+    static final String SCOPE_CLAIM = "scope";
+    static final String EVENTS_SCOPE = "events";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.stateless-claims.enabled}")
+    private boolean statelessClaimsEnabled;
+
+    @Value("${jwt.stateless-claims.ttl}")
+    private long statelessClaimsTtl;
+
+    @Value("${jwt.event-stream-ttl}")
+    private long eventStreamTtl;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        // Key and parser are immutable and thread-safe, so build them once
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateToken(String userId) {
+        return baseToken(userId, new Date()).compact();
+    }
+
+    /**
+     * Generates a token for the user. In stateless-claims mode the system role and group
+     * memberships are embedded so requests can be authorized without a database read.
+     */
+    public String generateToken(User user) {
         Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+        JwtBuilder builder = baseToken(user.getId(), now);
+
+        if (statelessClaimsEnabled) {
+            Map<String, String> memberships = new HashMap<>();
+            if (user.getMemberships() != null) {
+                user.getMemberships().forEach((groupId, role) -> memberships.put(groupId, role.name()));
+            }
+            builder.claim(ROLE_CLAIM, user.getSystemRole().name())
+                    .claim(EMAIL_CLAIM, user.getEmail())
+                    .claim(MEMBERSHIPS_CLAIM, memberships)
+                    .claim(AUTHZ_EXPIRY_CLAIM, now.getTime() + statelessClaimsTtl);
+        }
 
+        return builder.compact();
+    }
+
+    /**
+     * Generates a short-lived token that only authorizes opening the event stream. EventSource
+     * cannot send headers, so it travels in the URL, where it may end up in logs.
+     */
+    public String generateEventStreamToken(String userId) {
+        Date now = new Date();
         return Jwts.builder()
                 .subject(userId)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .expiration(new Date(now.getTime() + eventStreamTtl))
+                .claim(SCOPE_CLAIM, EVENTS_SCOPE)
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public long getEventStreamTtl() {
+        return eventStreamTtl;
+    }
 
-        return claims.getSubject();
+    public boolean isEventStreamToken(Claims claims) {
+        return EVENTS_SCOPE.equals(claims.get(SCOPE_CLAIM, String.class));
     }
 
-    public boolean validateToken(String token) {
+    private JwtBuilder baseToken(String userId, Date now) {
+        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+
+        return Jwts.builder()
+                .subject(userId)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey);
+    }
+
+    /**
+     * Parses and verifies the token once, returning its claims, or empty if the token is
+     * malformed, expired or not signed with our key.
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
+            return Optional.of(parser.parseSignedClaims(token).getPayload());
+        } catch (JwtException | IllegalArgumentException e) {
             log.error("JWT validation failed: {}", e.getMessage());
-            return false;
+            return Optional.empty();
         }
     }
+
+    public String getUserIdFromToken(String token) {
+        return parser.parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    /**
+     * Rebuilds the principal from embedded role claims. Empty when stateless-claims mode is
+     * off, the token carries no role claims, or the claims have aged out.
+     */
+    public Optional<User> getUserFromClaims(Claims claims) {
+        if (!statelessClaimsEnabled) {
+            return Optional.empty();
+        }
+        Long authzExpiry = claims.get(AUTHZ_EXPIRY_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (authzExpiry == null || role == null || authzExpiry < System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+
+        Map<String, Role> memberships = new HashMap<>();
+        Object rawMemberships = claims.get(MEMBERSHIPS_CLAIM);
+        if (rawMemberships instanceof Map<?, ?> map) {
+            map.forEach((groupId, groupRole) -> memberships.put(String.valueOf(groupId),
+                    Role.valueOf(String.valueOf(groupRole))));
+        }
+
+        return Optional.of(User.builder()
+                .id(claims.getSubject())
+                .email(claims.get(EMAIL_CLAIM, String.class))
+                .systemRole(User.SystemRole.valueOf(role))
+                .memberships(memberships)
+                .build());
+    }
 }
@@ -0,0 +1,52 @@
+package com.picklepro.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Resolved principals keyed by user id, so authenticated requests skip the user/player
+ * lookups in {@link JwtAuthenticationFilter}. Entries expire after a short TTL and are
+ * evicted explicitly whenever memberships or system roles change.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, CachedPrincipal> cache;
+
+    public PrincipalCache(@Value("${picklepro.principal-cache.max-size}") long maxSize,
+            @Value("${picklepro.principal-cache.ttl-seconds}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        // Publishes cache.gets{result=hit|miss}, cache.evictions and cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    /**
+     * Returns the cached principal, loading it on a miss. A null result from the loader
+     * (unknown user) is not cached.
+     */
+    public CachedPrincipal get(String userId, Function<String, CachedPrincipal> loader) {
+        return cache.get(userId, loader);
+    }
+
+    public void invalidate(String userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
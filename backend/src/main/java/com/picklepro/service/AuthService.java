@@ -1,13 +1,15 @@
 package com.picklepro.service;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
-import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.picklepro.dto.AuthResponse;
 import com.picklepro.model.User;
 import com.picklepro.repository.UserRepository;
+import com.picklepro.security.GoogleTokenVerifier;
 import com.picklepro.security.JwtTokenProvider;
+import com.picklepro.security.PrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,7 +18,6 @@ import org.springframework.stereotype.Service;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.UUID;
 
 @Slf4j
@@ -27,28 +28,34 @@ public class AuthService {
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final com.picklepro.repository.PlayerRepository playerRepository;
-
-    @Value("${google.client-id}")
-    private String googleClientId;
+    private final PrincipalCache principalCache;
+    private final GoogleTokenVerifier googleTokenVerifier;
+    private final MeterRegistry meterRegistry;
 
     @Value("${picklepro.admin-emails}")
     private String adminEmails;
 
+    private Timer loginTimer;
+
+    @PostConstruct
+    void init() {
+        loginTimer = Timer.builder("picklepro.auth.google.login")
+                .description("Google sign-in, from token verification to issued JWT")
+                .register(meterRegistry);
+    }
+
     public AuthResponse authenticateWithGoogle(String idToken) {
-        try {
-            GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(
-                    new NetHttpTransport(),
-                    GsonFactory.getDefaultInstance())
-                    .setAudience(Collections.singletonList(googleClientId))
-                    .build();
+        return loginTimer.record(() -> authenticate(idToken));
+    }
 
-            GoogleIdToken googleIdToken = verifier.verify(idToken);
+    private AuthResponse authenticate(String idToken) {
+        try {
+            GoogleIdToken.Payload payload = googleTokenVerifier.verify(idToken);
 
-            if (googleIdToken == null) {
+            if (payload == null) {
                 throw new RuntimeException("Invalid Google ID token");
             }
 
-            GoogleIdToken.Payload payload = googleIdToken.getPayload();
             String googleId = payload.getSubject();
             String email = payload.getEmail();
             String name = (String) payload.get("name");
@@ -80,6 +87,7 @@ public class AuthService {
 
             if (changed) {
                 user = userRepository.save(user);
+                principalCache.invalidate(user.getId());
             }
 
             final User finalUser = user;
@@ -92,7 +100,7 @@ public class AuthService {
                 }
             });
 
-            String jwt = jwtTokenProvider.generateToken(user.getId());
+            String jwt = jwtTokenProvider.generateToken(user);
 
             return new AuthResponse(jwt, user);
 
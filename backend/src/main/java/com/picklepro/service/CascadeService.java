@@ -0,0 +1,210 @@
+package com.picklepro.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.picklepro.dto.CascadeReport;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.PlayerStats;
+import com.picklepro.model.User;
+import com.picklepro.model.Venue;
+import com.picklepro.security.PrincipalCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cleans up references to a deleted player or group with server-side multi-document
+ * updates. Every filter is backed by an index (see the model annotations). Cascades whose
+ * estimated fan-out exceeds the async threshold run on the application task executor; their
+ * reports can be polled by ID until they expire.
+ *
+ * Matches keep the IDs of deleted players and venues, which clients render as unknown.
+ * Passes over match history (rating replay, stats rebuild, head-to-head records) skip IDs
+ * that no longer belong to a player, see {@link #existingPlayerIds}.
+ */
+@Slf4j
+@Service
+public class CascadeService {
+
+    private final MongoTemplate mongoTemplate;
+    private final PrincipalCache principalCache;
+    private final PlayerNameDictionary playerNames;
+    private final CollectionVersions versions;
+    private final LeaderboardIndex leaderboards;
+    private final PairwiseStatsIndex pairwiseStats;
+    private final PlayerSearchIndex playerSearch;
+    private final long asyncThreshold;
+    private final TaskExecutor executor;
+    private final Cache<String, CascadeReport> reports = Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public CascadeService(MongoTemplate mongoTemplate, PrincipalCache principalCache,
+            PlayerNameDictionary playerNames, CollectionVersions versions, LeaderboardIndex leaderboards,
+            PairwiseStatsIndex pairwiseStats, PlayerSearchIndex playerSearch,
+            @Value("${picklepro.cascade.async-threshold}") long asyncThreshold,
+            TaskExecutor applicationTaskExecutor) {
+        this.mongoTemplate = mongoTemplate;
+        this.principalCache = principalCache;
+        this.playerNames = playerNames;
+        this.versions = versions;
+        this.leaderboards = leaderboards;
+        this.pairwiseStats = pairwiseStats;
+        this.playerSearch = playerSearch;
+        this.asyncThreshold = asyncThreshold;
+        // Boot's task executor: a bounded pool, or one virtual thread per task in virtual-thread mode
+        this.executor = applicationTaskExecutor;
+    }
+
+    public Optional<CascadeReport> getReport(String id) {
+        return Optional.ofNullable(reports.getIfPresent(id));
+    }
+
+    /**
+     * Drops the player's stats entries and in-memory records and clears the memberships of
+     * the user the player was linked to. Matches keep the player's ID.
+     */
+    public CascadeReport playerDeleted(String playerId, String userId) {
+        long fanOut = count(Criteria.where("playerId").is(playerId), PlayerStats.class);
+        return run(CascadeReport.Target.PLAYER, playerId, fanOut, touched -> {
+            touched.put("player_stats", mongoTemplate.remove(new Query(Criteria.where("playerId").is(playerId)),
+                    PlayerStats.class).getDeletedCount());
+            if (userId != null) {
+                touched.put("users", mongoTemplate.updateFirst(new Query(Criteria.where("id").is(userId)),
+                        new Update().set("memberships", Map.of()), User.class).getModifiedCount());
+                principalCache.invalidate(userId);
+            }
+            principalCache.invalidate(playerId);
+            playerNames.remove(playerId);
+            leaderboards.remove(playerId);
+            pairwiseStats.removePlayer(playerId);
+            playerSearch.remove(playerId);
+        });
+    }
+
+    /**
+     * Removes the group from every player and user membership map and detaches venues,
+     * matches and group-scoped stats from it.
+     */
+    public CascadeReport groupDeleted(String groupId) {
+        String membership = "memberships." + groupId;
+        long fanOut = count(Criteria.where("groupId").is(groupId), Match.class)
+                + count(Criteria.where(membership).exists(true), Player.class);
+        return run(CascadeReport.Target.GROUP, groupId, fanOut, touched -> {
+            touched.put("players", mongoTemplate.updateMulti(new Query(Criteria.where(membership).exists(true)),
+                    new Update().unset(membership), Player.class).getModifiedCount());
+            touched.put("users", mongoTemplate.updateMulti(new Query(Criteria.where(membership).exists(true)),
+                    new Update().unset(membership), User.class).getModifiedCount());
+            touched.put("venues", mongoTemplate.updateMulti(new Query(Criteria.where("groupId").is(groupId)),
+                    new Update().unset("groupId"), Venue.class).getModifiedCount());
+            touched.put("matches", mongoTemplate.updateMulti(new Query(Criteria.where("groupId").is(groupId)),
+                    new Update().unset("groupId"), Match.class).getModifiedCount());
+            touched.put("player_stats", mongoTemplate.remove(new Query(Criteria.where("groupId").is(groupId)),
+                    PlayerStats.class).getDeletedCount());
+            // Any cached principal may carry the membership
+            principalCache.invalidateAll();
+            leaderboards.removeGroup(groupId);
+        });
+    }
+
+    /**
+     * IDs of every player that still exists, for passes over the whole match history.
+     */
+    static Set<String> existingPlayerIds(MongoTemplate mongoTemplate) {
+        Query query = new Query();
+        query.fields().include("id");
+        try (Stream<Player> players = mongoTemplate.stream(query, Player.class)) {
+            return players.map(Player::getId).collect(Collectors.toCollection(HashSet::new));
+        }
+    }
+
+    /**
+     * The given IDs that still belong to a player.
+     */
+    static Set<String> existingPlayerIds(MongoTemplate mongoTemplate, Collection<String> playerIds) {
+        Query query = new Query(Criteria.where("id").in(playerIds));
+        query.fields().include("id");
+        return mongoTemplate.find(query, Player.class).stream().map(Player::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private long count(Criteria criteria, Class<?> entityClass) {
+        // Only the threshold matters, so stop counting once it is exceeded
+        return mongoTemplate.count(new Query(criteria).limit((int) Math.min(asyncThreshold + 1, Integer.MAX_VALUE)),
+                entityClass);
+    }
+
+    private CascadeReport run(CascadeReport.Target target, String targetId, long fanOut,
+            Consumer<Map<String, Long>> cascade) {
+        CascadeReport report = CascadeReport.builder()
+                .id(UUID.randomUUID().toString())
+                .target(target)
+                .targetId(targetId)
+                .status(CascadeReport.Status.RUNNING)
+                .startedAt(Instant.now())
+                .build();
+
+        if (fanOut <= asyncThreshold) {
+            return execute(report, cascade);
+        }
+        reports.put(report.getId(), report);
+        executor.execute(() -> execute(report, cascade));
+        return report;
+    }
+
+    private CascadeReport execute(CascadeReport running, Consumer<Map<String, Long>> cascade) {
+        Map<String, Long> touched = new LinkedHashMap<>();
+        CascadeReport.CascadeReportBuilder result = CascadeReport.builder()
+                .id(running.getId())
+                .target(running.getTarget())
+                .targetId(running.getTargetId())
+                .startedAt(running.getStartedAt())
+                .touched(touched);
+        try {
+            cascade.accept(touched);
+            result.status(CascadeReport.Status.COMPLETED);
+            log.info("Cascade for {} {} touched {}", running.getTarget(), running.getTargetId(), touched);
+        } catch (RuntimeException e) {
+            result.status(CascadeReport.Status.FAILED).error(e.getMessage());
+            log.error("Cascade for {} {} failed after {}", running.getTarget(), running.getTargetId(), touched, e);
+        }
+        // Partially applied cascades changed documents too
+        bumpVersions(touched);
+        // Published as a new object so pollers never see a half-filled report
+        CascadeReport finished = result.finishedAt(Instant.now()).build();
+        reports.put(finished.getId(), finished);
+        return finished;
+    }
+
+    private void bumpVersions(Map<String, Long> touched) {
+        if (touched.containsKey("matches")) {
+            versions.bump(CollectionVersions.Collection.MATCHES);
+        }
+        if (touched.containsKey("players")) {
+            versions.bump(CollectionVersions.Collection.PLAYERS);
+        }
+        if (touched.containsKey("venues")) {
+            versions.bump(CollectionVersions.Collection.VENUES);
+        }
+    }
+}
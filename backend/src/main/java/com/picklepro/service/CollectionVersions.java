@@ -0,0 +1,68 @@
+package com.picklepro.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory change counters per resource collection, and per group within it, bumped by the
+ * service write paths. Listing endpoints derive strong ETags from them so unchanged
+ * collections can be answered with 304 without reading Mongo. The counters restart with the
+ * process, so every tag also carries a per-process epoch.
+ */
+@Component
+public class CollectionVersions {
+
+    public enum Collection {
+        PLAYERS, MATCHES, VENUES, GROUPS
+    }
+
+    private final String epoch = Long.toString(UUID.randomUUID().getMostSignificantBits() & Long.MAX_VALUE, 36);
+    private final Map<Collection, AtomicLong> versions = new EnumMap<>(Collection.class);
+    // Changes outside any group, which may affect what every group sees
+    private final Map<Collection, AtomicLong> ungroupedVersions = new EnumMap<>(Collection.class);
+    // Created by bump() only, so made-up group IDs on reads add nothing
+    private final Map<Collection, Map<String, AtomicLong>> groupVersions = new EnumMap<>(Collection.class);
+
+    public CollectionVersions() {
+        for (Collection collection : Collection.values()) {
+            versions.put(collection, new AtomicLong());
+            ungroupedVersions.put(collection, new AtomicLong());
+            groupVersions.put(collection, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Records a change to the collection. A change within a group also moves the collection's
+     * global version; a change without a group moves every group's tag.
+     */
+    public void bump(Collection collection, String groupId) {
+        versions.get(collection).incrementAndGet();
+        if (groupId != null) {
+            groupVersions.get(collection).computeIfAbsent(groupId, g -> new AtomicLong()).incrementAndGet();
+        } else {
+            ungroupedVersions.get(collection).incrementAndGet();
+        }
+    }
+
+    public void bump(Collection collection) {
+        bump(collection, null);
+    }
+
+    public String etag(Collection collection) {
+        return collection.name().toLowerCase() + "-" + epoch + "-" + versions.get(collection).get();
+    }
+
+    public String etag(Collection collection, String groupId) {
+        if (groupId == null) {
+            return etag(collection);
+        }
+        AtomicLong version = groupVersions.get(collection).get(groupId);
+        return collection.name().toLowerCase() + "-" + groupId + "-" + epoch + "-"
+                + (version != null ? version.get() : 0) + "." + ungroupedVersions.get(collection).get();
+    }
+}
@@ -0,0 +1,137 @@
+package com.picklepro.service;
+
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes matches and players straight from a Mongo cursor to the response, one document at
+ * a time, so memory use does not depend on the size of the export.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final String MATCH_HEADER = "id,date,type,teamA,teamB,scoreA,scoreB,venueId,courtNumber,notes,groupId,userId";
+    private static final String PLAYER_HEADER = "id,name,email,rating,joinedDate";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void exportMatches(Format format, Instant from, Instant to, String groupId, OutputStream out)
+            throws IOException {
+        Query query = new Query();
+        if (groupId != null) {
+            query.addCriteria(Criteria.where("groupId").is(groupId));
+        }
+        if (from != null || to != null) {
+            Criteria date = Criteria.where("date");
+            if (from != null)
+                date.gte(from);
+            if (to != null)
+                date.lt(to);
+            query.addCriteria(date);
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "date").and(Sort.by(Sort.Direction.ASC, "id")));
+
+        try (Stream<Match> matches = mongoTemplate.stream(query, Match.class)) {
+            write(matches, format, MATCH_HEADER, this::toCsv, out);
+        }
+    }
+
+    public void exportPlayers(Format format, String groupId, OutputStream out) throws IOException {
+        Query query = new Query();
+        if (groupId != null) {
+            query.addCriteria(Criteria.where("memberships." + groupId).exists(true));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "id"));
+
+        try (Stream<Player> players = mongoTemplate.stream(query, Player.class)) {
+            write(players, format, PLAYER_HEADER, this::toCsv, out);
+        }
+    }
+
+    private <T> void write(Stream<T> documents, Format format, String csvHeader,
+            Function<T, String> csvLine, OutputStream out) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        if (format == Format.CSV) {
+            writeLine(buffered, csvHeader.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            documents.forEach(document -> {
+                try {
+                    writeLine(buffered, format == Format.CSV
+                            ? csvLine.apply(document).getBytes(StandardCharsets.UTF_8)
+                            : objectMapper.writeValueAsBytes(document));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-export
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+
+    private void writeLine(OutputStream out, byte[] line) throws IOException {
+        out.write(line);
+        out.write('\n');
+    }
+
+    // Teams use the same ';' separator the match import accepts, so exports can be re-imported
+    private String toCsv(Match match) {
+        return String.join(",",
+                csv(match.getId()),
+                csv(match.getDate()),
+                csv(match.getType()),
+                csv(match.getTeamA() == null ? null : String.join(";", match.getTeamA())),
+                csv(match.getTeamB() == null ? null : String.join(";", match.getTeamB())),
+                csv(match.getScoreA()),
+                csv(match.getScoreB()),
+                csv(match.getVenueId()),
+                csv(match.getCourtNumber()),
+                csv(match.getNotes()),
+                csv(match.getGroupId()),
+                csv(match.getUserId()));
+    }
+
+    private String toCsv(Player player) {
+        return String.join(",",
+                csv(player.getId()),
+                csv(player.getName()),
+                csv(player.getEmail()),
+                csv(player.getRating()),
+                csv(player.getJoinedDate()));
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
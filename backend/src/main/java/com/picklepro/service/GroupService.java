@@ -1,10 +1,12 @@
 package com.picklepro.service;
 
+import com.picklepro.dto.CascadeReport;
 import com.picklepro.model.Group;
 import com.picklepro.model.Role;
 import com.picklepro.model.User;
 import com.picklepro.repository.GroupRepository;
 import com.picklepro.repository.UserRepository;
+import com.picklepro.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,14 +20,23 @@ public class GroupService {
 
     private final GroupRepository groupRepository;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final CascadeService cascadeService;
+    private final CollectionVersions versions;
 
     public List<Group> getAllGroups() {
         return groupRepository.findAll();
     }
 
+    public boolean exists(String groupId) {
+        return groupRepository.existsById(groupId);
+    }
+
     public Group createGroup(Group group) {
         group.setId(UUID.randomUUID().toString());
-        return groupRepository.save(group);
+        Group saved = groupRepository.save(group);
+        versions.bump(CollectionVersions.Collection.GROUPS);
+        return saved;
     }
 
     @Transactional
@@ -39,6 +50,7 @@ public class GroupService {
 
         user.getMemberships().put(groupId, role);
         userRepository.save(user);
+        principalCache.invalidate(userId);
     }
 
     @Transactional
@@ -48,5 +60,15 @@ public class GroupService {
 
         user.getMemberships().remove(groupId);
         userRepository.save(user);
+        principalCache.invalidate(userId);
+    }
+
+    public CascadeReport deleteGroup(String groupId) {
+        if (!groupRepository.existsById(groupId)) {
+            throw new RuntimeException("Group not found");
+        }
+        groupRepository.deleteById(groupId);
+        versions.bump(CollectionVersions.Collection.GROUPS);
+        return cascadeService.groupDeleted(groupId);
     }
 }
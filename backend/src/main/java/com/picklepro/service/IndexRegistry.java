@@ -0,0 +1,113 @@
+package com.picklepro.service;
+
+import com.picklepro.model.Group;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.PlayerStats;
+import com.picklepro.model.RatingLedgerEntry;
+import com.picklepro.model.User;
+import com.picklepro.model.Venue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the indexes declared on the model classes (@Indexed, @CompoundIndex,
+ * @WildcardIndexed) once the application is up, instead of relying on
+ * auto-index-creation while the mapping context initialises. Index builds do not block
+ * reads or writes on the server, so by default they run on the task executor and startup
+ * does not wait for them. Afterwards {@link QueryPlanVerifier} checks the query plans.
+ *
+ * In fail mode (picklepro.indexes.verify=fail, meant for CI and load-test environments)
+ * everything runs before the application reports ready, and a failed index build or a
+ * collection scan aborts startup.
+ */
+@Slf4j
+@Component
+public class IndexRegistry {
+
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    // Every persisted model class; add new documents here
+    static final List<Class<?>> ENTITIES = List.of(Match.class, Player.class, User.class, Venue.class, Group.class,
+            PlayerStats.class, RatingLedgerEntry.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryPlanVerifier planVerifier;
+    private final TaskExecutor executor;
+    private final Mode mode;
+
+    public IndexRegistry(MongoTemplate mongoTemplate, QueryPlanVerifier planVerifier,
+            TaskExecutor applicationTaskExecutor,
+            @Value("${picklepro.indexes.verify}") Mode mode) {
+        this.mongoTemplate = mongoTemplate;
+        this.planVerifier = planVerifier;
+        this.executor = applicationTaskExecutor;
+        this.mode = mode;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (mode == Mode.FAIL) {
+            ensureAndVerify();
+        } else {
+            executor.execute(this::ensureAndVerify);
+        }
+    }
+
+    private void ensureAndVerify() {
+        List<String> failures = ensureIndexes();
+        if (mode != Mode.OFF) {
+            failures.addAll(planVerifier.findCollectionScans());
+        }
+        if (failures.isEmpty()) {
+            return;
+        }
+        failures.forEach(failure -> log.warn("Index check: {}", failure));
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException("Index check failed: " + String.join("; ", failures));
+        }
+    }
+
+    /**
+     * Creates every declared index that does not exist yet. Existing indexes with the same
+     * definition are left alone.
+     *
+     * @return a description of each index that could not be created
+     */
+    public List<String> ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext());
+        List<String> failures = new ArrayList<>();
+        for (Class<?> entity : ENTITIES) {
+            long started = System.nanoTime();
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            int count = 0;
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                try {
+                    indexOps.createIndex(index);
+                    count++;
+                } catch (RuntimeException e) {
+                    // e.g. a unique index over existing duplicates, or a changed definition
+                    failures.add(mongoTemplate.getCollectionName(entity) + " " + index.getIndexKeys().toJson()
+                            + ": " + e.getMessage());
+                }
+            }
+            log.info("Ensured {} indexes on {} in {} ms", count, mongoTemplate.getCollectionName(entity),
+                    (System.nanoTime() - started) / 1_000_000);
+        }
+        return failures;
+    }
+}
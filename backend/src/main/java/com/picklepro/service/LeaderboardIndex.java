@@ -0,0 +1,291 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.LeaderboardEntry;
+import com.picklepro.model.Player;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory leaderboards: one {@link RankTree} over all players and one per group over the
+ * group's members. Built from the players collection at startup (by RatingWorkers), then kept
+ * current by RatingService (rating deltas) and PlayerService (memberships). Queries take a read lock
+ * and never touch the database except to resolve unknown player names.
+ */
+@Slf4j
+@Component
+public class LeaderboardIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 100;
+
+    private record Standing(double rating, Set<String> groups) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final PlayerNameDictionary playerNames;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Boards boards = new Boards();
+    // Writes that arrive while rebuild() loads new boards, null otherwise
+    private List<Consumer<Boards>> pending;
+
+    public LeaderboardIndex(MongoTemplate mongoTemplate, PlayerNameDictionary playerNames,
+            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.playerNames = playerNames;
+        Gauge.builder("picklepro.leaderboard.players", this, index -> index.size(null)).register(meterRegistry);
+    }
+
+    /**
+     * Reloads every rating and membership from the players collection into new boards without
+     * holding the lock, then swaps them in. Writes that arrive meanwhile are queued and
+     * replayed onto the new boards. Membership changes come out the same whether or not the
+     * scan saw them, but a rating delta the scan already read would count twice, so callers
+     * hold the rating writers back while this runs: {@link RatingWorkers} at startup and for
+     * a global replay.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Boards built = new Boards();
+        Query query = new Query();
+        query.fields().include("rating", "memberships");
+        try (Stream<Player> players = mongoTemplate.stream(query, Player.class)) {
+            players.forEach(player -> built.add(player.getId(), new Standing(ratingOf(player), groupsOf(player))));
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                // Keep the current boards, which already have the queued writes
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            pending.forEach(write -> write.accept(built));
+            replayed = pending.size();
+            boards = built;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built leaderboards for {} players in {} groups ({} writes during the build)",
+                built.standings.size(), built.groups.size(), replayed);
+    }
+
+    /**
+     * Adds the player or syncs their group boards with their memberships. A player already on
+     * the boards keeps their indexed rating; ratings only change through {@link #applyDeltas}.
+     */
+    public void put(Player player) {
+        Standing loaded = new Standing(ratingOf(player), groupsOf(player));
+        write(target -> target.put(player.getId(), loaded));
+    }
+
+    /**
+     * Adds rating deltas as they were written to the database. Players not on the boards
+     * (deleted meanwhile) are ignored.
+     *
+     * @return the resulting rating of each player on the boards
+     */
+    public Map<String, Double> applyDeltas(Map<String, Double> deltas) {
+        Map<String, Double> ratings = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            // During a rebuild the current boards still answer queries, so report from them too
+            boards.applyDeltas(deltas, ratings);
+            if (pending != null) {
+                pending.add(target -> target.applyDeltas(deltas, new HashMap<>()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return ratings;
+    }
+
+    public void remove(String playerId) {
+        write(target -> target.remove(playerId));
+    }
+
+    public void removeGroup(String groupId) {
+        write(target -> target.removeGroup(groupId));
+    }
+
+    // Applies the write to the current boards, and queues it for the new ones during a rebuild
+    private void write(Consumer<Boards> write) {
+        lock.writeLock().lock();
+        try {
+            write.accept(boards);
+            if (pending != null) {
+                pending.add(write);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the highest rated players, globally when groupId is null.
+     */
+    public List<LeaderboardEntry> top(String groupId, Integer limit) {
+        int count = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return toEntries(read(groupId, board -> board.range(0, count)));
+    }
+
+    public Optional<LeaderboardEntry> rankOf(String groupId, String playerId) {
+        return around(groupId, playerId, 0).stream().findFirst();
+    }
+
+    /**
+     * Returns the player with up to radius neighbours on each side, or nothing if the player
+     * is not on the board.
+     */
+    public List<LeaderboardEntry> around(String groupId, String playerId, int radius) {
+        int reach = Math.max(0, Math.min(radius, MAX_LIMIT / 2));
+        return toEntries(read(groupId, board -> {
+            Standing standing = boards.standings.get(playerId);
+            int index = standing == null ? -1 : board.indexOf(standing.rating(), playerId);
+            if (index < 0) {
+                return List.<RankTree.Position>of();
+            }
+            int from = Math.max(index - reach, 0);
+            return board.range(from, index + reach + 1 - from);
+        }));
+    }
+
+    public int size(String groupId) {
+        return read(groupId, RankTree::size);
+    }
+
+    private <T> T read(String groupId, Function<RankTree, T> query) {
+        lock.readLock().lock();
+        try {
+            RankTree board = groupId == null ? boards.global : boards.groups.get(groupId);
+            return query.apply(board != null ? board : new RankTree());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<LeaderboardEntry> toEntries(List<RankTree.Position> positions) {
+        List<String> playerIds = positions.stream().map(RankTree.Position::playerId).toList();
+        playerNames.resolveMissing(playerIds);
+        List<String> names = playerNames.namesOf(playerIds);
+        return IntStream.range(0, positions.size())
+                .mapToObj(i -> LeaderboardEntry.builder()
+                        .rank(positions.get(i).index() + 1)
+                        .playerId(positions.get(i).playerId())
+                        .name(names.get(i))
+                        .rating(positions.get(i).rating())
+                        .build())
+                .toList();
+    }
+
+    private static double ratingOf(Player player) {
+        return player.getRating() != null ? player.getRating() : RatingReplayEngine.INITIAL_RATING;
+    }
+
+    private static Set<String> groupsOf(Player player) {
+        return player.getMemberships() == null ? Set.of() : Set.copyOf(player.getMemberships().keySet());
+    }
+
+    /**
+     * The global board, the group boards and each player's standing on them.
+     */
+    private static final class Boards {
+        private final Map<String, Standing> standings = new HashMap<>();
+        private final RankTree global = new RankTree();
+        private final Map<String, RankTree> groups = new HashMap<>();
+
+        // A player already on the boards keeps their indexed rating
+        void put(String playerId, Standing loaded) {
+            Standing previous = standings.get(playerId);
+            Standing standing = previous != null ? new Standing(previous.rating(), loaded.groups()) : loaded;
+            if (previous != null) {
+                removeFromBoards(playerId, previous);
+            }
+            add(playerId, standing);
+        }
+
+        void applyDeltas(Map<String, Double> deltas, Map<String, Double> ratings) {
+            deltas.forEach((playerId, delta) -> {
+                Standing previous = standings.get(playerId);
+                if (previous == null) {
+                    return;
+                }
+                Standing standing = new Standing(previous.rating() + delta, previous.groups());
+                ratings.put(playerId, standing.rating());
+                if (delta == 0) {
+                    return;
+                }
+                removeFromBoards(playerId, previous);
+                add(playerId, standing);
+            });
+        }
+
+        void remove(String playerId) {
+            Standing previous = standings.remove(playerId);
+            if (previous != null) {
+                removeFromBoards(playerId, previous);
+            }
+        }
+
+        void removeGroup(String groupId) {
+            RankTree board = groups.remove(groupId);
+            if (board == null) {
+                return;
+            }
+            for (RankTree.Position member : board.range(0, board.size())) {
+                standings.computeIfPresent(member.playerId(), (id, standing) -> new Standing(standing.rating(),
+                        standing.groups().stream().filter(g -> !g.equals(groupId)).collect(Collectors.toSet())));
+            }
+        }
+
+        void add(String playerId, Standing standing) {
+            standings.put(playerId, standing);
+            global.add(standing.rating(), playerId);
+            for (String groupId : standing.groups()) {
+                groups.computeIfAbsent(groupId, g -> new RankTree()).add(standing.rating(), playerId);
+            }
+        }
+
+        private void removeFromBoards(String playerId, Standing standing) {
+            global.remove(standing.rating(), playerId);
+            for (String groupId : standing.groups()) {
+                RankTree board = groups.get(groupId);
+                if (board != null) {
+                    board.remove(standing.rating(), playerId);
+                    if (board.size() == 0) {
+                        groups.remove(groupId);
+                    }
+                }
+            }
+        }
+    }
+}
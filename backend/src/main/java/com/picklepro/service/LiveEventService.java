@@ -0,0 +1,127 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.LiveEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans {@link LiveEvent}s out to Server-Sent Events subscribers, scoped by group. Events are
+ * published by MatchService and RatingService and delivered on the application task executor
+ * so writers never wait on slow connections. A periodic comment keeps idle connections open
+ * through proxies.
+ */
+@Slf4j
+@Service
+public class LiveEventService {
+
+    // Subscribers without a group receive every event
+    private static final String ALL_GROUPS = "*";
+
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    private final TaskExecutor executor;
+    private final long timeoutMillis;
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+
+    public LiveEventService(TaskExecutor applicationTaskExecutor,
+            @Value("${picklepro.events.timeout-ms}") long timeoutMillis,
+            @Value("${picklepro.events.heartbeat-seconds}") long heartbeatSeconds,
+            MeterRegistry meterRegistry) {
+        this.executor = applicationTaskExecutor;
+        this.timeoutMillis = timeoutMillis;
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        Gauge.builder("picklepro.events.subscribers", subscribers,
+                s -> s.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+    }
+
+    /**
+     * Registers a subscriber. Callers check that the group exists and the user may see it,
+     * and that only system admins subscribe without a group (which receives every event);
+     * a group's set is dropped again once its last subscriber leaves.
+     */
+    public SseEmitter subscribe(String groupId) {
+        String key = groupId == null ? ALL_GROUPS : groupId;
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        subscribers.compute(key, (k, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            set.add(emitter);
+            return set;
+        });
+        Runnable remove = () -> remove(key, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    private void remove(String key, SseEmitter emitter) {
+        // Atomic with subscribe(), so a subscriber joining meanwhile never lands in a dropped set
+        subscribers.computeIfPresent(key, (k, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    @EventListener
+    public void onEvent(LiveEvent event) {
+        executor.execute(() -> {
+            deliver(ALL_GROUPS, event);
+            if (event.getGroupId() == null) {
+                subscribers.keySet().forEach(key -> {
+                    if (!key.equals(ALL_GROUPS))
+                        deliver(key, event);
+                });
+            } else {
+                deliver(event.getGroupId(), event);
+            }
+        });
+    }
+
+    private void deliver(String key, LiveEvent event) {
+        Set<SseEmitter> emitters = subscribers.get(key);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            send(key, emitter, SseEmitter.event().name(event.getType().name()).data(event));
+        }
+    }
+
+    private void sendHeartbeat() {
+        subscribers.forEach((key, emitters) -> emitters
+                .forEach(emitter -> send(key, emitter, SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private void send(String key, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            // send() serializes concurrent writers (heartbeat and events) internally
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container will complete the emitter
+            remove(key, emitter);
+            log.debug("Dropped event subscriber: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.MatchResponse;
+import com.picklepro.model.Match;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Group commit for match submission. When enabled (picklepro.matches.batching.enabled),
+ * concurrent submissions are queued and a single flusher thread collects them until the
+ * window elapses or the batch is full, then hands the batch to
+ * {@link MatchService#createMatches}: one bulk insert, one ordered rating pass, one stats
+ * update. Each caller waits up to picklepro.matches.batching.timeout-ms for its batch to be
+ * written and gets its own response or error. On shutdown new submissions are rejected and the
+ * flusher writes what is already queued; it is never interrupted mid-write.
+ * When disabled every submission goes straight to {@link MatchService#createMatch}.
+ */
+@Slf4j
+@Component
+public class MatchBatcher {
+
+    private record Pending(Match match, CompletableFuture<MatchResponse> result, long enqueuedNanos) {
+    }
+
+    private final MatchService matchService;
+    private final boolean enabled;
+    private final long windowNanos;
+    private final int maxSize;
+    private final long timeoutMillis;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSize;
+    private final Timer waitTime;
+    private volatile boolean stopped;
+    private Thread flusher;
+
+    public MatchBatcher(MatchService matchService,
+            @Value("${picklepro.matches.batching.enabled}") boolean enabled,
+            @Value("${picklepro.matches.batching.window-ms}") long windowMillis,
+            @Value("${picklepro.matches.batching.max-size}") int maxSize,
+            @Value("${picklepro.matches.batching.timeout-ms}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        this.matchService = matchService;
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxSize = Math.max(1, maxSize);
+        this.timeoutMillis = timeoutMillis;
+        this.batchSize = DistributionSummary.builder("picklepro.matches.batch.size")
+                .description("Matches written per group commit")
+                .register(meterRegistry);
+        this.waitTime = Timer.builder("picklepro.matches.batch.wait")
+                .description("Time a submitted match waited in the queue before its batch was written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = new Thread(this::run, "match-batcher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Match batching enabled, window {} ms, up to {} matches",
+                TimeUnit.NANOSECONDS.toMillis(windowNanos), maxSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        stopped = true;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            // Let the flusher finish the batch it is writing and drain the queue
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Match batcher still writing after {} ms, giving up on it", timeoutMillis);
+        }
+    }
+
+    public MatchResponse createMatch(Match match, String userId) {
+        if (!enabled) {
+            return matchService.createMatch(match, userId);
+        }
+        match.setId(UUID.randomUUID().toString());
+        match.setUserId(userId);
+        Pending pending = new Pending(match, new CompletableFuture<>(), System.nanoTime());
+        if (stopped) {
+            throw new IllegalStateException("Shutting down");
+        }
+        queue.add(pending);
+        // The flusher may have made its last pass between the check and the add
+        if (stopped && queue.remove(pending)) {
+            throw new IllegalStateException("Shutting down");
+        }
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(
+                    "Timed out after " + timeoutMillis + " ms waiting for the match batch", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for the match batch", e);
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxSize);
+        try {
+            while (!stopped || !queue.isEmpty()) {
+                // Wake up now and then to notice stop(); queued matches are still written
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxSize) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Only reachable with leftovers if interrupted; don't leave callers blocked
+        batch.addAll(queue);
+        queue.clear();
+        batch.forEach(p -> p.result().completeExceptionally(new IllegalStateException("Shutting down")));
+    }
+
+    private void flush(List<Pending> batch) {
+        long flushed = System.nanoTime();
+        batch.forEach(p -> waitTime.record(flushed - p.enqueuedNanos(), TimeUnit.NANOSECONDS));
+        batchSize.record(batch.size());
+        try {
+            List<MatchService.BatchOutcome> outcomes = matchService.createMatches(
+                    batch.stream().map(Pending::match).toList());
+            for (int i = 0; i < batch.size(); i++) {
+                MatchService.BatchOutcome outcome = outcomes.get(i);
+                if (outcome.error() != null) {
+                    batch.get(i).result().completeExceptionally(outcome.error());
+                } else {
+                    batch.get(i).result().complete(outcome.response());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to write a batch of {} matches", batch.size(), e);
+            batch.forEach(p -> p.result().completeExceptionally(e));
+        }
+    }
+}
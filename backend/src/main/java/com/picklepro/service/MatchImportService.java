@@ -0,0 +1,393 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.MatchImportEvent;
+import com.picklepro.dto.MatchImportRow;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Streams a CSV or NDJSON match history into the matches collection. Rows are validated and
+ * resolved as they are read and inserted in batches; each batch is added to the stats and
+ * queued on the rating workers (rated in date order) right after its insert, so an upload
+ * that breaks off leaves every inserted match applied. Progress and per-row errors are
+ * written back as NDJSON while the import runs.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MatchImportService {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private static final int BATCH_SIZE = 500;
+    // Limits on a CSV record whose quoted fields span lines, so a stray quote cannot swallow the upload
+    private static final int MAX_RECORD_LINES = 100;
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+    // Marks a name shared by several players
+    private static final String AMBIGUOUS = "\0ambiguous";
+
+    private final MongoTemplate mongoTemplate;
+    private final RatingWorkers ratingWorkers;
+    private final StatsService statsService;
+    private final ObjectMapper objectMapper;
+    private final CollectionVersions versions;
+
+    /**
+     * @param replay recompute all ratings from history once the import ends instead of rating
+     *               each batch; rewrites every rating, so only system admins may ask for it
+     */
+    public void importMatches(InputStream in, Format format, String defaultGroupId, User user, boolean replay,
+            OutputStream out) throws IOException {
+        if (replay && user.getSystemRole() != User.SystemRole.ADMIN) {
+            throw new IllegalArgumentException("Unauthorized: Only system admins can replay ratings");
+        }
+        PlayerLookup players = loadPlayerLookup();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        String[] header = null;
+        if (format == Format.CSV) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) {
+                write(out, MatchImportEvent.builder().type(MatchImportEvent.Type.error).row(1L)
+                        .message("Missing CSV header").build());
+                return;
+            }
+            header = splitCsv(headerLine).stream().map(h -> h.trim().toLowerCase(Locale.ROOT))
+                    .toArray(String[]::new);
+        }
+
+        long lineNumber = format == Format.CSV ? 1 : 0;
+        long rowsRead = 0;
+        long failed = 0;
+        long imported = 0;
+        List<Match> batch = new ArrayList<>(BATCH_SIZE);
+        // Lines read ahead for a record that turned out too long, to be read again as rows
+        Deque<String> readAhead = new ArrayDeque<>();
+
+        try {
+            String line;
+            while ((line = readAhead.isEmpty() ? reader.readLine() : readAhead.poll()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                long rowNumber = lineNumber;
+                // A quoted CSV field may span lines, as the exporter writes multi-line notes
+                if (format == Format.CSV && hasOpenQuote(line)) {
+                    StringBuilder record = new StringBuilder(line);
+                    List<String> continuation = new ArrayList<>();
+                    boolean open = true;
+                    while (open && continuation.size() < MAX_RECORD_LINES && record.length() <= MAX_RECORD_CHARS) {
+                        String next = readAhead.isEmpty() ? reader.readLine() : readAhead.poll();
+                        if (next == null) {
+                            break;
+                        }
+                        continuation.add(next);
+                        record.append('\n').append(next);
+                        open = open != hasOpenQuote(next);
+                    }
+                    if (open && (continuation.size() >= MAX_RECORD_LINES || record.length() > MAX_RECORD_CHARS)) {
+                        rowsRead++;
+                        failed++;
+                        write(out, MatchImportEvent.builder().type(MatchImportEvent.Type.error).row(rowNumber)
+                                .message("Unterminated quoted field (record longer than " + MAX_RECORD_LINES
+                                        + " lines or " + MAX_RECORD_CHARS + " characters)")
+                                .build());
+                        // Carry on with the line after this row's first one
+                        for (int i = continuation.size() - 1; i >= 0; i--) {
+                            readAhead.addFirst(continuation.get(i));
+                        }
+                        continue;
+                    }
+                    lineNumber += continuation.size();
+                    line = record.toString();
+                }
+                rowsRead++;
+                try {
+                    MatchImportRow row = format == Format.CSV ? parseCsvRow(header, line)
+                            : objectMapper.readValue(line, MatchImportRow.class);
+                    batch.add(toMatch(row, defaultGroupId, user, players));
+                } catch (RuntimeException e) {
+                    failed++;
+                    write(out, MatchImportEvent.builder().type(MatchImportEvent.Type.error).row(rowNumber)
+                            .message(e.getMessage()).build());
+                }
+
+                if (batch.size() == BATCH_SIZE) {
+                    insertBatch(batch, replay);
+                    imported += batch.size();
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    write(out, progress(MatchImportEvent.Type.progress, rowsRead, imported, failed));
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(batch, replay);
+                imported += batch.size();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Also after a broken upload, so the matches already inserted get rated
+            if (replay && imported > 0) {
+                replayAfterFailure(e);
+            }
+            throw e;
+        }
+        if (replay && imported > 0) {
+            ratingWorkers.replay(null);
+        }
+
+        log.info("Imported {} matches ({} rows, {} failed) for user {}", imported, rowsRead, failed, user.getId());
+        write(out, progress(MatchImportEvent.Type.complete, rowsRead, imported, failed));
+    }
+
+    private void insertBatch(List<Match> batch, boolean replay) {
+        mongoTemplate.insert(batch, Match.class);
+        versions.bump(CollectionVersions.Collection.MATCHES);
+        if (!replay) {
+            ratingWorkers.applyImported(batch);
+        }
+        statsService.recordMatches(batch);
+    }
+
+    // The import's own failure is what the caller sees; a failed replay is logged and attached
+    private void replayAfterFailure(Exception importFailure) {
+        try {
+            ratingWorkers.replay(null);
+        } catch (RuntimeException e) {
+            log.error("Rating replay after a failed import failed; run POST /v1/ratings/replay", e);
+            importFailure.addSuppressed(e);
+        }
+    }
+
+    private Match toMatch(MatchImportRow row, String defaultGroupId, User user, PlayerLookup players) {
+        if (row.getDate() == null || row.getDate().isBlank()) {
+            throw new IllegalArgumentException("Match date is required");
+        }
+        if (row.getType() == null) {
+            throw new IllegalArgumentException("Match type is required");
+        }
+        Match.MatchType type = Arrays.stream(Match.MatchType.values())
+                .filter(t -> t.name().equalsIgnoreCase(row.getType().trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown match type: " + row.getType()));
+
+        List<String> teamA = resolveTeam(row.getTeamA(), "Team A", players);
+        List<String> teamB = resolveTeam(row.getTeamB(), "Team B", players);
+        int teamSize = type == Match.MatchType.Singles ? 1 : 2;
+        if (teamA.size() != teamSize || teamB.size() != teamSize) {
+            throw new IllegalArgumentException(type + " teams must have " + teamSize + " player(s) each");
+        }
+        if (row.getScoreA() == null || row.getScoreB() == null || row.getScoreA() < 0 || row.getScoreB() < 0) {
+            throw new IllegalArgumentException("Scores are required and must be non-negative");
+        }
+
+        String groupId = row.getGroupId() != null && !row.getGroupId().isBlank() ? row.getGroupId() : defaultGroupId;
+        boolean isSystemAdmin = user.getSystemRole() == User.SystemRole.ADMIN;
+        boolean isGroupAdmin = groupId != null && user.getMemberships() != null
+                && user.getMemberships().get(groupId) == Role.GROUP_ADMIN;
+        if (!isSystemAdmin && !isGroupAdmin) {
+            throw new IllegalArgumentException("Unauthorized: You must be a Group Admin of the match's group");
+        }
+
+        return Match.builder()
+                .id(UUID.randomUUID().toString())
+                .date(parseDate(row.getDate().trim()))
+                .type(type)
+                .teamA(teamA)
+                .teamB(teamB)
+                .scoreA(row.getScoreA())
+                .scoreB(row.getScoreB())
+                .notes(row.getNotes())
+                .venueId(row.getVenueId())
+                .courtNumber(row.getCourtNumber())
+                .userId(user.getId())
+                .groupId(groupId)
+                .build();
+    }
+
+    private List<String> resolveTeam(List<String> refs, String label, PlayerLookup players) {
+        if (refs == null || refs.isEmpty()) {
+            throw new IllegalArgumentException(label + " is required");
+        }
+        List<String> ids = new ArrayList<>(refs.size());
+        for (String ref : refs) {
+            String id = players.resolve(ref.trim());
+            if (id == null) {
+                throw new IllegalArgumentException(label + ": unknown player '" + ref + "'");
+            }
+            if (AMBIGUOUS.equals(id)) {
+                throw new IllegalArgumentException(label + ": player name '" + ref + "' is ambiguous, use an ID or email");
+            }
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    private Instant parseDate(String value) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+                    : Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + value + "', expected ISO-8601");
+        }
+    }
+
+    private MatchImportRow parseCsvRow(String[] header, String line) {
+        List<String> values = splitCsv(line);
+        MatchImportRow row = new MatchImportRow();
+        for (int i = 0; i < header.length && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header[i]) {
+                case "date" -> row.setDate(value);
+                case "type" -> row.setType(value);
+                case "teama" -> row.setTeamA(splitTeam(value));
+                case "teamb" -> row.setTeamB(splitTeam(value));
+                case "scorea" -> row.setScoreA(parseInt(value, "scoreA"));
+                case "scoreb" -> row.setScoreB(parseInt(value, "scoreB"));
+                case "venueid" -> row.setVenueId(value);
+                case "courtnumber" -> row.setCourtNumber(parseInt(value, "courtNumber"));
+                case "notes" -> row.setNotes(value);
+                case "groupid" -> row.setGroupId(value);
+                default -> {
+                    // Unknown columns are ignored
+                }
+            }
+        }
+        return row;
+    }
+
+    // Team members within one CSV cell are separated by ';' or '|'
+    private List<String> splitTeam(String value) {
+        return Arrays.stream(value.split("[;|]")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private int parseInt(String value, String column) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + " '" + value + "'");
+        }
+    }
+
+    // An odd number of quotes means a quoted field continues on the next line; "" escapes count twice
+    static boolean hasOpenQuote(String line) {
+        return line.chars().filter(c -> c == '"').count() % 2 == 1;
+    }
+
+    /**
+     * Splits one CSV record, honouring double-quoted fields and "" escapes. Quoted fields may
+     * contain line breaks.
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private PlayerLookup loadPlayerLookup() {
+        Query query = new Query();
+        query.fields().include("name", "email");
+
+        PlayerLookup lookup = new PlayerLookup();
+        try (Stream<Player> players = mongoTemplate.stream(query, Player.class)) {
+            players.forEach(lookup::add);
+        }
+        return lookup;
+    }
+
+    private MatchImportEvent progress(MatchImportEvent.Type type, long rowsRead, long imported, long failed) {
+        return MatchImportEvent.builder().type(type).rowsRead(rowsRead).imported(imported).failed(failed).build();
+    }
+
+    private void write(OutputStream out, MatchImportEvent event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+        out.flush();
+    }
+
+    /**
+     * Resolves a player reference by ID, then email, then name (case-insensitive).
+     * Names shared by several players resolve to {@link #AMBIGUOUS}.
+     */
+    private static class PlayerLookup {
+        private final Set<String> ids = new HashSet<>();
+        private final Map<String, String> byEmail = new HashMap<>();
+        private final Map<String, String> byName = new HashMap<>();
+
+        void add(Player player) {
+            ids.add(player.getId());
+            if (player.getEmail() != null) {
+                byEmail.put(player.getEmail().toLowerCase(Locale.ROOT), player.getId());
+            }
+            if (player.getName() != null) {
+                byName.merge(player.getName().toLowerCase(Locale.ROOT), player.getId(), (a, b) -> AMBIGUOUS);
+            }
+        }
+
+        String resolve(String ref) {
+            if (ids.contains(ref)) {
+                return ref;
+            }
+            String key = ref.toLowerCase(Locale.ROOT);
+            String id = byEmail.get(key);
+            return id != null ? id : byName.get(key);
+        }
+    }
+}
@@ -1,32 +1,64 @@
 package com.picklepro.service;
 
+import com.picklepro.dto.LiveEvent;
+import com.picklepro.dto.MatchCursor;
+import com.picklepro.dto.MatchPage;
 import com.picklepro.dto.MatchResponse;
 import com.picklepro.model.Match;
-import com.picklepro.model.Player;
 import com.picklepro.model.Role;
 import com.picklepro.model.User;
 import com.picklepro.repository.MatchRepository;
-import com.picklepro.repository.PlayerRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 @Service
+@Timed("picklepro.service")
 @RequiredArgsConstructor
 public class MatchService {
 
     private final MatchRepository matchRepository;
-    private final PlayerRepository playerRepository;
-    private final RatingService ratingService;
+    private final PlayerNameDictionary playerNames;
+    private final RatingWorkers ratingWorkers;
+    private final StatsService statsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionVersions versions;
+
+    /** The response for one submitted match, or why it was rejected. */
+    public record BatchOutcome(MatchResponse response, RuntimeException error) {
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
 
     public List<MatchResponse> getAllMatches() {
-        return matchRepository.findAllMatchesWithPlayerNames();
+        return toMatchResponses(matchRepository.findAllByOrderByDateDesc());
+    }
+
+    public MatchPage getMatchFeed(String groupId, String venueId, Match.MatchType type, String after,
+            Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        MatchCursor cursor = after == null || after.isBlank() ? null : MatchCursor.decode(after);
+
+        // Fetch one extra match to know whether another page exists
+        List<MatchResponse> matches = toMatchResponses(
+                matchRepository.findMatchPage(groupId, venueId, type, cursor, pageSize + 1));
+        if (matches.size() <= pageSize) {
+            return new MatchPage(matches, null);
+        }
+
+        List<MatchResponse> page = matches.subList(0, pageSize);
+        MatchResponse last = page.get(pageSize - 1);
+        return new MatchPage(page, new MatchCursor(last.getDate(), last.getId()).encode());
     }
 
     @Transactional
@@ -34,8 +66,60 @@ public class MatchService {
         match.setId(UUID.randomUUID().toString());
         match.setUserId(userId);
         Match savedMatch = matchRepository.save(match);
-        ratingService.updateRatings(savedMatch);
-        return toMatchResponse(savedMatch);
+        ratingWorkers.updateRatings(savedMatch);
+        statsService.recordMatch(savedMatch);
+        versions.bump(CollectionVersions.Collection.MATCHES, savedMatch.getGroupId());
+        MatchResponse response = toMatchResponses(List.of(savedMatch)).get(0);
+        eventPublisher.publishEvent(LiveEvent.builder()
+                .type(LiveEvent.Type.match_created)
+                .groupId(savedMatch.getGroupId())
+                .match(response)
+                .build());
+        return response;
+    }
+
+    /**
+     * Creates matches that already carry their ID and userId with one unordered bulk insert,
+     * then applies their rating changes in a single ordered pass and updates the stats once.
+     * A match the insert rejects gets an error outcome and is left out of everything else.
+     *
+     * @return one outcome per match, in the order given
+     */
+    public List<BatchOutcome> createMatches(List<Match> matches) {
+        Map<Integer, String> rejected = matchRepository.insertUnordered(matches);
+        List<Match> inserted = new ArrayList<>(matches.size());
+        for (int i = 0; i < matches.size(); i++) {
+            if (!rejected.containsKey(i)) {
+                inserted.add(matches.get(i));
+            }
+        }
+
+        if (!inserted.isEmpty()) {
+            ratingWorkers.applyBatch(inserted);
+            statsService.recordMatches(inserted);
+            Set<String> groupIds = new LinkedHashSet<>();
+            inserted.forEach(match -> groupIds.add(match.getGroupId()));
+            groupIds.forEach(groupId -> versions.bump(CollectionVersions.Collection.MATCHES, groupId));
+        }
+
+        List<MatchResponse> responses = toMatchResponses(inserted);
+        List<BatchOutcome> outcomes = new ArrayList<>(matches.size());
+        int next = 0;
+        for (int i = 0; i < matches.size(); i++) {
+            String error = rejected.get(i);
+            if (error != null) {
+                outcomes.add(new BatchOutcome(null, new RuntimeException("Match not saved: " + error)));
+                continue;
+            }
+            MatchResponse response = responses.get(next++);
+            eventPublisher.publishEvent(LiveEvent.builder()
+                    .type(LiveEvent.Type.match_created)
+                    .groupId(response.getGroupId())
+                    .match(response)
+                    .build());
+            outcomes.add(new BatchOutcome(response, null));
+        }
+        return outcomes;
     }
 
     @Transactional
@@ -53,33 +137,39 @@ public class MatchService {
 
         if (isSystemAdmin || isCreator || isGroupAdmin) {
             matchRepository.deleteById(matchId);
-            // Optionally update ratings if needed (revert)
+            statsService.revertMatch(match);
+            ratingWorkers.revertMatch(match);
+            versions.bump(CollectionVersions.Collection.MATCHES, match.getGroupId());
+            eventPublisher.publishEvent(LiveEvent.builder()
+                    .type(LiveEvent.Type.match_deleted)
+                    .groupId(match.getGroupId())
+                    .matchId(matchId)
+                    .build());
         } else {
             throw new RuntimeException("Unauthorized: You cannot delete this match.");
         }
     }
 
-    private MatchResponse toMatchResponse(Match match) {
-        // Collect all unique player IDs from both teams
-        List<String> allIds = new java.util.ArrayList<>();
-        if (match.getTeamA() != null)
-            allIds.addAll(match.getTeamA());
-        if (match.getTeamB() != null)
-            allIds.addAll(match.getTeamB());
-
-        // Batch-fetch players and build an ID -> name map
-        Map<String, String> idToName = StreamSupport
-                .stream(playerRepository.findAllById(allIds).spliterator(), false)
-                .collect(Collectors.toMap(Player::getId, Player::getName));
+    public List<MatchResponse> toMatchResponses(List<Match> matches) {
+        // Load any names the dictionary does not know yet in one query for the whole list
+        List<String> allIds = new ArrayList<>();
+        for (Match match : matches) {
+            if (match.getTeamA() != null)
+                allIds.addAll(match.getTeamA());
+            if (match.getTeamB() != null)
+                allIds.addAll(match.getTeamB());
+        }
+        playerNames.resolveMissing(allIds);
+        return matches.stream().map(match -> toMatchResponse(match, playerNames)).toList();
+    }
 
+    static MatchResponse toMatchResponse(Match match, PlayerNameDictionary playerNames) {
         return MatchResponse.builder()
                 .id(match.getId())
                 .date(match.getDate())
                 .type(match.getType())
-                .teamANames(match.getTeamA() == null ? List.of()
-                        : match.getTeamA().stream().map(id -> idToName.getOrDefault(id, id)).toList())
-                .teamBNames(match.getTeamB() == null ? List.of()
-                        : match.getTeamB().stream().map(id -> idToName.getOrDefault(id, id)).toList())
+                .teamANames(playerNames.namesOf(match.getTeamA()))
+                .teamBNames(playerNames.namesOf(match.getTeamB()))
                 .scoreA(match.getScoreA())
                 .scoreB(match.getScoreB())
                 .notes(match.getNotes())
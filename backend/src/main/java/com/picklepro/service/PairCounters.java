@@ -0,0 +1,134 @@
+package com.picklepro.service;
+
+import java.util.Arrays;
+
+/**
+ * Sparse map from a counterpart's player index to win, loss and point differential counters,
+ * held in parallel primitive arrays with open addressing. Entries are never removed; a
+ * counterpart whose counters have all gone back to zero is skipped when iterating and dropped
+ * when the table grows. Not thread-safe.
+ */
+public final class PairCounters {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void visit(int counterpart, int wins, int losses, long pointDifferential);
+    }
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+    private int[] wins;
+    private int[] losses;
+    private long[] pointDifferential;
+    private int used;
+
+    public PairCounters() {
+        allocate(4);
+    }
+
+    /**
+     * Adds (sign 1) or takes back (sign -1) one match against or alongside the counterpart.
+     */
+    public void add(int counterpart, boolean won, int pointDiff, int sign) {
+        int slot = slotFor(counterpart);
+        if (keys[slot] == EMPTY) {
+            if (sign < 0) {
+                return;
+            }
+            if ((used + 1) * 4 > keys.length * 3) {
+                grow();
+                slot = slotFor(counterpart);
+            }
+            keys[slot] = counterpart;
+            used++;
+        }
+        if (won) {
+            wins[slot] += sign;
+        } else {
+            losses[slot] += sign;
+        }
+        pointDifferential[slot] += (long) sign * pointDiff;
+    }
+
+    /** Zeroes the counters for the counterpart. */
+    public void clear(int counterpart) {
+        int slot = slotFor(counterpart);
+        if (keys[slot] != EMPTY) {
+            wins[slot] = 0;
+            losses[slot] = 0;
+            pointDifferential[slot] = 0;
+        }
+    }
+
+    /**
+     * Visits the counterpart's counters, or does nothing if no match was recorded with them.
+     */
+    public void get(int counterpart, Visitor visitor) {
+        int slot = slotFor(counterpart);
+        if (keys[slot] != EMPTY && played(slot) > 0) {
+            visitor.visit(counterpart, wins[slot], losses[slot], pointDifferential[slot]);
+        }
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY && played(slot) > 0) {
+                visitor.visit(keys[slot], wins[slot], losses[slot], pointDifferential[slot]);
+            }
+        }
+    }
+
+    private int played(int slot) {
+        return wins[slot] + losses[slot];
+    }
+
+    private int slotFor(int counterpart) {
+        int mask = keys.length - 1;
+        int h = counterpart * 0x9E3779B9;
+        int slot = (h ^ (h >>> 16)) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != counterpart) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldWins = wins;
+        int[] oldLosses = losses;
+        long[] oldDiff = pointDifferential;
+
+        int live = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY && oldWins[slot] + oldLosses[slot] > 0) {
+                live++;
+            }
+        }
+        int capacity = 4;
+        while ((live + 1) * 4 > capacity * 3 / 2) {
+            capacity *= 2;
+        }
+        allocate(capacity);
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY && oldWins[slot] + oldLosses[slot] > 0) {
+                int target = slotFor(oldKeys[slot]);
+                keys[target] = oldKeys[slot];
+                wins[target] = oldWins[slot];
+                losses[target] = oldLosses[slot];
+                pointDifferential[target] = oldDiff[slot];
+                used++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        wins = new int[capacity];
+        losses = new int[capacity];
+        pointDifferential = new long[capacity];
+        used = 0;
+    }
+}
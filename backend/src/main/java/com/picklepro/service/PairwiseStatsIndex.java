@@ -0,0 +1,420 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.PairStatsResponse;
+import com.picklepro.model.Match;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * In-memory head-to-head and partnership records. Player IDs are interned to compact
+ * indices, and every player has one {@link PairCounters} for opponents and one for partners,
+ * so a pair lookup is a single probe and a partner ranking only visits that player's partners.
+ * Built from match history at startup and updated as matches are recorded and reverted.
+ */
+@Slf4j
+@Component
+public class PairwiseStatsIndex {
+
+    public enum Order {
+        BEST, WORST
+    }
+
+    public static final int DEFAULT_LIMIT = 5;
+    public static final int MAX_LIMIT = 50;
+
+    private record PairRecord(int counterpart, int wins, int losses, long pointDifferential) {
+        int played() {
+            return wins + losses;
+        }
+
+        double winRate() {
+            return wins * 100.0 / played();
+        }
+    }
+
+    private static final Comparator<PairRecord> BEST_FIRST = Comparator.comparingDouble(PairRecord::winRate)
+            .thenComparingLong(PairRecord::pointDifferential)
+            .thenComparingInt(PairRecord::played)
+            .reversed();
+
+    // One recorded (sign 1) or reverted (sign -1) match, or a deleted player
+    private record PendingWrite(Match match, int sign, String removedPlayerId) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private final PlayerNameDictionary playerNames;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Tables tables = new Tables();
+    // Writes that arrive while load() builds new tables, null otherwise
+    private List<PendingWrite> pending;
+
+    public PairwiseStatsIndex(MongoTemplate mongoTemplate, PlayerNameDictionary playerNames) {
+        this.mongoTemplate = mongoTemplate;
+        this.playerNames = playerNames;
+    }
+
+    /**
+     * Builds the records from match history into new tables without holding the lock, then
+     * swaps them in. Writes that arrive meanwhile are queued and replayed onto the new tables;
+     * a recorded match the history scan already counted is skipped, and a reverted one is
+     * only taken back if it was counted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Tables built = new Tables();
+        IdSet counted = new IdSet();
+        Set<String> players = CascadeService.existingPlayerIds(mongoTemplate);
+        Query query = new Query();
+        query.fields().include("teamA", "teamB", "scoreA", "scoreB");
+        try (Stream<Match> matches = mongoTemplate.stream(query, Match.class)) {
+            for (Match match : (Iterable<Match>) matches::iterator) {
+                for (List<String> team : Arrays.asList(match.getTeamA(), match.getTeamB())) {
+                    if (team != null) {
+                        team.stream().filter(id -> id != null && !players.contains(id))
+                                .forEach(built.removed::add);
+                    }
+                }
+                built.apply(match, 1);
+                counted.add(match.getId());
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                // Keep the current tables; queued writes still belong on them
+                pending.forEach(write -> replay(tables, write, null, null));
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            Set<String> recorded = new HashSet<>();
+            for (PendingWrite write : pending) {
+                replay(built, write, counted, recorded);
+            }
+            replayed = pending.size();
+            tables = built;
+            pending = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed head-to-head records for {} players from {} matches ({} writes during the build)",
+                built.playerIds.size(), counted.size(), replayed);
+    }
+
+    public void recordMatch(Match match) {
+        write(new PendingWrite(match, 1, null));
+    }
+
+    public void revertMatch(Match match) {
+        write(new PendingWrite(match, -1, null));
+    }
+
+    public void recordMatches(List<Match> matches) {
+        lock.writeLock().lock();
+        try {
+            for (Match match : matches) {
+                if (pending != null) {
+                    pending.add(new PendingWrite(match, 1, null));
+                } else {
+                    tables.apply(match, 1);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Forgets a deleted player's records, including their entries in other players' records.
+     */
+    public void removePlayer(String playerId) {
+        write(new PendingWrite(null, 0, playerId));
+    }
+
+    /**
+     * Returns the player's record against the opponent, if they have met.
+     */
+    public Optional<PairStatsResponse> headToHead(String playerId, String opponentId) {
+        return pair(playerId, opponentId, false);
+    }
+
+    /**
+     * Returns the player's record when partnered with the other player, if they have teamed up.
+     */
+    public Optional<PairStatsResponse> partnership(String playerId, String partnerId) {
+        return pair(playerId, partnerId, true);
+    }
+
+    /**
+     * Ranks the player's partners by win rate, then point differential, keeping only pairs
+     * with at least minMatches matches together.
+     */
+    public List<PairStatsResponse> partners(String playerId, Order order, Integer minMatches, Integer limit) {
+        int min = minMatches == null ? 1 : Math.max(1, minMatches);
+        int count = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        Comparator<PairRecord> comparator = order == Order.WORST ? BEST_FIRST.reversed() : BEST_FIRST;
+
+        List<PairRecord> records = new ArrayList<>();
+        List<String> otherIds;
+        lock.readLock().lock();
+        try {
+            Integer p = tables.playerIndex.get(playerId);
+            if (p == null) {
+                return List.of();
+            }
+            tables.partners.get(p).forEach((other, wins, losses, diff) -> {
+                if (wins + losses >= min) {
+                    records.add(new PairRecord(other, wins, losses, diff));
+                }
+            });
+            records.sort(comparator);
+            if (records.size() > count) {
+                records.subList(count, records.size()).clear();
+            }
+            otherIds = records.stream().map(r -> tables.playerIds.get(r.counterpart())).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<String> ids = new ArrayList<>(otherIds);
+        ids.add(playerId);
+        playerNames.resolveMissing(ids);
+        String name = playerNames.namesOf(List.of(playerId)).get(0);
+        List<String> otherNames = playerNames.namesOf(otherIds);
+        return IntStream.range(0, records.size())
+                .mapToObj(i -> toResponse(playerId, name, otherIds.get(i), otherNames.get(i), records.get(i)))
+                .toList();
+    }
+
+    private Optional<PairStatsResponse> pair(String playerId, String otherId, boolean partnered) {
+        PairRecord[] found = new PairRecord[1];
+        lock.readLock().lock();
+        try {
+            Integer p = tables.playerIndex.get(playerId);
+            Integer o = tables.playerIndex.get(otherId);
+            if (p == null || o == null) {
+                return Optional.empty();
+            }
+            List<PairCounters> table = partnered ? tables.partners : tables.opponents;
+            table.get(p).get(o,
+                    (other, wins, losses, diff) -> found[0] = new PairRecord(other, wins, losses, diff));
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (found[0] == null) {
+            return Optional.empty();
+        }
+        List<String> ids = List.of(playerId, otherId);
+        playerNames.resolveMissing(ids);
+        List<String> names = playerNames.namesOf(ids);
+        return Optional.of(toResponse(playerId, names.get(0), otherId, names.get(1), found[0]));
+    }
+
+    private void write(PendingWrite write) {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                pending.add(write);
+            } else {
+                replay(tables, write, null, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a write. When counted is given (after a build), records the history scan
+     * already counted are skipped and reverts only apply to matches that were counted, either
+     * by the scan or by an earlier queued record.
+     */
+    private static void replay(Tables target, PendingWrite write, IdSet counted, Set<String> recorded) {
+        if (write.removedPlayerId() != null) {
+            target.removePlayer(write.removedPlayerId());
+            return;
+        }
+        Match match = write.match();
+        if (counted != null) {
+            boolean seen = match.getId() != null && counted.contains(match.getId());
+            if (write.sign() > 0 && seen) {
+                return;
+            }
+            if (write.sign() < 0 && !seen && !recorded.remove(match.getId())) {
+                return;
+            }
+            if (write.sign() > 0 && match.getId() != null) {
+                recorded.add(match.getId());
+            }
+        }
+        target.apply(match, write.sign());
+    }
+
+    /** Interned players and their opponent and partner counters. Guarded by the index lock once published. */
+    private static final class Tables {
+        final Map<String, Integer> playerIndex = new HashMap<>();
+        final List<String> playerIds = new ArrayList<>();
+        final List<PairCounters> opponents = new ArrayList<>();
+        final List<PairCounters> partners = new ArrayList<>();
+        // Deleted players, whose IDs remain in old matches
+        final Set<String> removed = new HashSet<>();
+
+        void removePlayer(String playerId) {
+            removed.add(playerId);
+            Integer p = playerIndex.get(playerId);
+            if (p == null) {
+                return;
+            }
+            opponents.get(p).forEach((other, wins, losses, diff) -> opponents.get(other).clear(p));
+            partners.get(p).forEach((other, wins, losses, diff) -> partners.get(other).clear(p));
+            opponents.set(p, new PairCounters());
+            partners.set(p, new PairCounters());
+        }
+
+        void apply(Match match, int sign) {
+            if (match.getTeamA() == null || match.getTeamB() == null) {
+                return;
+            }
+            int[] teamA = intern(match.getTeamA());
+            int[] teamB = intern(match.getTeamB());
+            boolean teamAWon = match.getScoreA() > match.getScoreB();
+            int diff = match.getScoreA() - match.getScoreB();
+
+            for (int a : teamA) {
+                for (int b : teamB) {
+                    opponents.get(a).add(b, teamAWon, diff, sign);
+                    opponents.get(b).add(a, !teamAWon, -diff, sign);
+                }
+            }
+            addPartners(teamA, teamAWon, diff, sign);
+            addPartners(teamB, !teamAWon, -diff, sign);
+        }
+
+        private void addPartners(int[] team, boolean won, int diff, int sign) {
+            for (int a : team) {
+                for (int b : team) {
+                    if (a != b) {
+                        partners.get(a).add(b, won, diff, sign);
+                    }
+                }
+            }
+        }
+
+        // Deleted players are left out
+        private int[] intern(List<String> team) {
+            return team.stream()
+                    .filter(id -> id != null && !removed.contains(id))
+                    .mapToInt(id -> playerIndex.computeIfAbsent(id, key -> {
+                        playerIds.add(key);
+                        opponents.add(new PairCounters());
+                        partners.add(new PairCounters());
+                        return playerIds.size() - 1;
+                    }))
+                    .toArray();
+        }
+    }
+
+    /**
+     * Set of match IDs kept as 64-bit hashes with open addressing, so remembering every match
+     * the history scan counted stays small. Only used during a build.
+     */
+    private static final class IdSet {
+        private long[] slots = new long[1024];
+        private int size;
+
+        void add(String id) {
+            if ((size + 1) * 2 > slots.length) {
+                long[] old = slots;
+                slots = new long[old.length * 2];
+                size = 0;
+                for (long hash : old) {
+                    if (hash != 0) {
+                        insert(hash);
+                    }
+                }
+            }
+            insert(hash(id));
+        }
+
+        boolean contains(String id) {
+            long hash = hash(id);
+            int mask = slots.length - 1;
+            for (int i = (int) (hash ^ (hash >>> 32)) & mask; slots[i] != 0; i = (i + 1) & mask) {
+                if (slots[i] == hash) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int size() {
+            return size;
+        }
+
+        private void insert(long hash) {
+            int mask = slots.length - 1;
+            int i = (int) (hash ^ (hash >>> 32)) & mask;
+            while (slots[i] != 0) {
+                if (slots[i] == hash) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = hash;
+            size++;
+        }
+
+        // FNV-1a; 0 marks an empty slot
+        private static long hash(String id) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < id.length(); i++) {
+                hash = (hash ^ id.charAt(i)) * 0x100000001b3L;
+            }
+            return hash == 0 ? 1 : hash;
+        }
+    }
+
+    private static PairStatsResponse toResponse(String playerId, String name, String otherId, String otherName,
+            PairRecord record) {
+        return PairStatsResponse.builder()
+                .playerId(playerId)
+                .name(name)
+                .otherPlayerId(otherId)
+                .otherName(otherName)
+                .matchesPlayed(record.played())
+                .wins(record.wins())
+                .losses(record.losses())
+                .winRate(record.winRate())
+                .pointDifferential(record.pointDifferential())
+                .build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.picklepro.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Watches for virtual threads that stay pinned to their carrier (blocking inside synchronized
+ * code or a native frame) using the JFR jdk.VirtualThreadPinned event. Each occurrence is
+ * counted and timed, and the innermost application frame is logged so the offending call
+ * can be found. Only active when virtual threads are enabled.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class PinnedThreadMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinnedCount;
+    private final Timer pinnedTime;
+    private RecordingStream stream;
+
+    public PinnedThreadMonitor(@Value("${picklepro.threads.pinned-threshold-ms}") long thresholdMillis,
+            MeterRegistry meterRegistry) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+        this.pinnedCount = Counter.builder("picklepro.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to a carrier thread")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("picklepro.threads.virtual.pinned.duration")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual threads enabled, reporting pinning longer than {}", threshold);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedTime.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), location(event));
+    }
+
+    private String location(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        // Prefer our own code over the JDK/driver frame that actually parked
+        return frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith("com.picklepro."))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .orElse("unknown");
+    }
+}
@@ -0,0 +1,125 @@
+package com.picklepro.service;
+
+import com.picklepro.model.Player;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory player ID to name map used to render matches without joining against the
+ * players collection. Loaded at startup and kept current by PlayerService writes; IDs that
+ * are not yet known are fetched in one query and remembered.
+ */
+@Slf4j
+@Component
+public class PlayerNameDictionary {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public PlayerNameDictionary(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.hits = Counter.builder("picklepro.player.names.lookups").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("picklepro.player.names.lookups").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("picklepro.player.names.size", names, Map::size).register(meterRegistry);
+        Gauge.builder("picklepro.player.names.hit.ratio", this, PlayerNameDictionary::hitRatio)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Query query = new Query();
+        query.fields().include("name");
+        try (Stream<Player> players = mongoTemplate.stream(query, Player.class)) {
+            players.forEach(this::put);
+        }
+        log.info("Loaded {} player names", names.size());
+    }
+
+    public void put(Player player) {
+        if (player.getId() != null && player.getName() != null) {
+            names.put(player.getId(), player.getName());
+        }
+    }
+
+    public void remove(String playerId) {
+        names.remove(playerId);
+    }
+
+    /**
+     * Maps IDs to names without touching the database, falling back to the ID itself for
+     * unknown players. Call {@link #resolveMissing} first to load any that may be new.
+     */
+    public List<String> namesOf(List<String> playerIds) {
+        if (playerIds == null) {
+            return List.of();
+        }
+        return playerIds.stream().map(id -> names.getOrDefault(id, id)).toList();
+    }
+
+    /**
+     * Makes sure every given ID is in the dictionary, loading unknown ones in a single query.
+     */
+    public void resolveMissing(Collection<String> playerIds) {
+        List<String> missing = unknown(playerIds);
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Query query = new Query(Criteria.where("id").in(missing));
+        query.fields().include("name");
+        mongoTemplate.find(query, Player.class).forEach(this::put);
+        markUnresolved(missing);
+    }
+
+    /**
+     * Returns the IDs the dictionary does not know yet, counting hits and misses. Callers
+     * that load the missing players themselves should {@link #put} them and then call
+     * {@link #markUnresolved}.
+     */
+    public List<String> unknown(Collection<String> playerIds) {
+        List<String> missing = new ArrayList<>();
+        for (String id : playerIds) {
+            if (names.containsKey(id)) {
+                hits.increment();
+            } else {
+                misses.increment();
+                missing.add(id);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Remembers IDs that could not be loaded (deleted players) as their own name so they are
+     * not queried again.
+     */
+    public void markUnresolved(Collection<String> playerIds) {
+        playerIds.forEach(id -> names.putIfAbsent(id, id));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 1.0 : hits.count() / total;
+    }
+}
@@ -0,0 +1,347 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.PlayerSearchResult;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search over player names and emails for autocomplete. Every word of a name or
+ * email is indexed by its one and two character prefixes and by all of its trigrams, each
+ * posting list being a sorted int array of player slots. A query word shorter than three
+ * characters matches word prefixes; a longer one intersects its trigram lists and is then
+ * checked as a substring. Results rank members of the preferred groups first, then by match
+ * quality, then by most recent match.
+ */
+@Slf4j
+@Component
+public class PlayerSearchIndex {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private record Candidate(int slot, boolean member, int quality, long lastPlayed) {
+    }
+
+    private static final Comparator<Candidate> RANKING = Comparator.comparing(Candidate::member).reversed()
+            .thenComparingInt(Candidate::quality)
+            .thenComparing(Comparator.comparingLong(Candidate::lastPlayed).reversed());
+
+    private final MongoTemplate mongoTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> emails = new ArrayList<>();
+    // Normalized "name email" text, null for removed players
+    private final List<String> texts = new ArrayList<>();
+    private final List<Set<String>> groups = new ArrayList<>();
+    private long[] lastPlayed = new long[256];
+
+    public PlayerSearchIndex(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Query players = new Query();
+        players.fields().include("name", "email", "memberships");
+        try (Stream<Player> stream = mongoTemplate.stream(players, Player.class)) {
+            stream.forEach(this::put);
+        }
+
+        Query matches = new Query();
+        matches.fields().include("date", "teamA", "teamB");
+        try (Stream<Match> stream = mongoTemplate.stream(matches, Match.class)) {
+            stream.forEach(this::recordActivity);
+        }
+        log.info("Indexed {} players for search ({} grams)", slots.size(), postings.size());
+    }
+
+    public void put(Player player) {
+        if (player.getId() == null || player.getName() == null) {
+            return;
+        }
+        String text = normalize(player.getName()) + " " + normalize(player.getEmail());
+        Set<String> memberships = player.getMemberships() == null ? Set.of()
+                : Set.copyOf(player.getMemberships().keySet());
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = slots.get(player.getId());
+            int slot;
+            if (existing != null) {
+                slot = existing;
+                unindex(slot);
+            } else {
+                slot = ids.size();
+                slots.put(player.getId(), slot);
+                ids.add(player.getId());
+                names.add(null);
+                emails.add(null);
+                texts.add(null);
+                groups.add(null);
+                if (slot == lastPlayed.length) {
+                    lastPlayed = Arrays.copyOf(lastPlayed, slot * 2);
+                }
+            }
+            names.set(slot, player.getName());
+            emails.set(slot, player.getEmail());
+            texts.set(slot, text);
+            groups.set(slot, memberships);
+            for (String gram : grams(text)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String playerId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slots.remove(playerId);
+            if (slot != null) {
+                unindex(slot);
+                texts.set(slot, null);
+                groups.set(slot, Set.of());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the match's players up in the recent-activity order.
+     */
+    public void recordActivity(Match match) {
+        if (match.getDate() == null) {
+            return;
+        }
+        long played = match.getDate().toEpochMilli();
+        lock.writeLock().lock();
+        try {
+            for (List<String> team : Arrays.asList(match.getTeamA(), match.getTeamB())) {
+                if (team == null) {
+                    continue;
+                }
+                for (String playerId : team) {
+                    Integer slot = slots.get(playerId);
+                    if (slot != null && lastPlayed[slot] < played) {
+                        lastPlayed[slot] = played;
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to limit players whose name or email contains every word of the query (as a
+     * word prefix for words under three characters), members of preferredGroups first.
+     */
+    public List<PlayerSearchResult> search(String q, Collection<String> preferredGroups, Integer limit) {
+        int count = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<String> words = words(normalize(q));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] matches = null;
+            for (String word : words) {
+                int[] wordMatches = word.length() < 3 ? lookup("^" + word) : lookupSubstring(word);
+                matches = matches == null ? wordMatches : intersect(matches, wordMatches);
+                if (matches.length == 0) {
+                    return List.of();
+                }
+            }
+
+            // Keep the best count candidates; the queue head is the worst kept
+            PriorityQueue<Candidate> best = new PriorityQueue<>(count + 1, RANKING.reversed());
+            for (int slot : matches) {
+                String text = texts.get(slot);
+                if (text == null || !containsAll(text, words)) {
+                    continue;
+                }
+                boolean member = preferredGroups.stream().anyMatch(groups.get(slot)::contains);
+                best.add(new Candidate(slot, member, quality(text, words.get(0)), lastPlayed[slot]));
+                if (best.size() > count) {
+                    best.poll();
+                }
+            }
+
+            List<Candidate> ranked = new ArrayList<>(best);
+            ranked.sort(RANKING);
+            return ranked.stream().map(this::toResult).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private PlayerSearchResult toResult(Candidate candidate) {
+        int slot = candidate.slot();
+        return PlayerSearchResult.builder()
+                .id(ids.get(slot))
+                .name(names.get(slot))
+                .email(emails.get(slot))
+                .member(candidate.member())
+                .lastPlayedAt(lastPlayed[slot] == 0 ? null : Instant.ofEpochMilli(lastPlayed[slot]))
+                .build();
+    }
+
+    private int[] lookup(String gram) {
+        Postings list = postings.get(gram);
+        return list == null ? new int[0] : list.toArray();
+    }
+
+    private int[] lookupSubstring(String word) {
+        int[] result = null;
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            int[] slotsWithGram = lookup(word.substring(i, i + 3));
+            result = result == null ? slotsWithGram : intersect(result, slotsWithGram);
+            if (result.length == 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    private void unindex(int slot) {
+        String text = texts.get(slot);
+        if (text == null) {
+            return;
+        }
+        for (String gram : grams(text)) {
+            Postings list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // 0: name starts with the word, 1: a name word starts with it, 2: anything else
+    private static int quality(String text, String word) {
+        if (text.startsWith(word)) {
+            return 0;
+        }
+        return text.contains(" " + word) ? 1 : 2;
+    }
+
+    private static boolean containsAll(String text, List<String> words) {
+        for (String word : words) {
+            if (word.length() >= 3 && !text.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            grams.add("^" + word.substring(0, 1));
+            if (word.length() > 1) {
+                grams.add("^" + word.substring(0, 2));
+            }
+            for (int i = 0; i + 3 <= word.length(); i++) {
+                grams.add(word.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private static List<String> words(String text) {
+        return Arrays.stream(SEPARATORS.split(text)).filter(w -> !w.isEmpty()).toList();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** Sorted set of player slots. */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            slots[at] = slot;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+            size--;
+            return true;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(slots, size);
+        }
+    }
+}
@@ -1,27 +1,92 @@
 package com.picklepro.service;
 
+import com.picklepro.dto.CascadeReport;
+import com.picklepro.dto.PlayerCursor;
+import com.picklepro.dto.PlayerPage;
+import com.picklepro.dto.PlayerView;
 import com.picklepro.model.Player;
 import com.picklepro.model.Role;
 import com.picklepro.model.User;
 import com.picklepro.repository.PlayerRepository;
+import com.picklepro.security.PrincipalCache;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
+@Timed("picklepro.service")
 @RequiredArgsConstructor
 public class PlayerService {
 
     private final PlayerRepository playerRepository;
     private final com.picklepro.repository.UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final PlayerNameDictionary playerNames;
+    private final CascadeService cascadeService;
+    private final CollectionVersions versions;
+    private final LeaderboardIndex leaderboards;
+    private final PlayerSearchIndex playerSearch;
+    private final MeterRegistry meterRegistry;
 
-    public List<Player> getAllPlayers() {
-        return playerRepository.findAll();
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final Set<String> LISTED_FIELDS = Set.of("id", "name", "email", "contactNumber", "socialMedia",
+            "joinedDate", "userId", "rating", "systemRole", "memberships");
+
+    /**
+     * Lists players ordered by name, optionally only members of a group and only the given
+     * comma-separated fields (id is always included).
+     */
+    public List<PlayerView> getPlayers(String groupId, String fields) {
+        return playerRepository.findPlayerViews(groupId, parseFields(fields), null, 0);
+    }
+
+    public PlayerPage getPlayerPage(String groupId, String fields, String after, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        PlayerCursor cursor = after == null || after.isBlank() ? null : PlayerCursor.decode(after);
+        Set<String> projection = parseFields(fields);
+        if (projection != null) {
+            // The next cursor is built from the last player's name
+            projection.add("name");
+        }
+
+        // Fetch one extra player to know whether another page exists
+        List<PlayerView> players = playerRepository.findPlayerViews(groupId, projection, cursor, pageSize + 1);
+        if (players.size() <= pageSize) {
+            return new PlayerPage(players, null);
+        }
+
+        List<PlayerView> page = players.subList(0, pageSize);
+        PlayerView last = page.get(pageSize - 1);
+        return new PlayerPage(page, new PlayerCursor(last.getName(), last.getId()).encode());
+    }
+
+    private static Set<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> projection = new LinkedHashSet<>();
+        projection.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!LISTED_FIELDS.contains(name)) {
+                throw new IllegalArgumentException("Unknown player field: " + name);
+            }
+            projection.add(name);
+        }
+        return projection;
     }
 
     public Optional<Player> findByEmail(String email) {
@@ -55,6 +120,10 @@ public class PlayerService {
         }
 
         Player savedPlayer = playerRepository.save(player);
+        playerNames.put(savedPlayer);
+        leaderboards.put(savedPlayer);
+        playerSearch.put(savedPlayer);
+        versions.bump(CollectionVersions.Collection.PLAYERS);
         syncRolesToUser(savedPlayer);
         return savedPlayer;
     }
@@ -69,6 +138,9 @@ public class PlayerService {
         }
         player.getMemberships().put(groupId, role);
         Player savedPlayer = playerRepository.save(player);
+        leaderboards.put(savedPlayer);
+        playerSearch.put(savedPlayer);
+        versions.bump(CollectionVersions.Collection.PLAYERS);
         syncRolesToUser(savedPlayer);
     }
 
@@ -80,6 +152,9 @@ public class PlayerService {
         if (player.getMemberships() != null) {
             player.getMemberships().remove(groupId);
             Player savedPlayer = playerRepository.save(player);
+            leaderboards.put(savedPlayer);
+            playerSearch.put(savedPlayer);
+            versions.bump(CollectionVersions.Collection.PLAYERS);
             syncRolesToUser(savedPlayer);
         }
     }
@@ -117,13 +192,22 @@ public class PlayerService {
         }
 
         Player savedPlayer = playerRepository.save(existingPlayer);
+        playerNames.put(savedPlayer);
+        playerSearch.put(savedPlayer);
+        versions.bump(CollectionVersions.Collection.PLAYERS);
+        // Matches are rendered with player names
+        versions.bump(CollectionVersions.Collection.MATCHES);
         syncRolesToUser(savedPlayer);
         return savedPlayer;
     }
 
     @Transactional
-    public void deletePlayer(String playerId, String userId) {
-        playerRepository.deleteByIdAndUserId(playerId, userId);
+    public Optional<CascadeReport> deletePlayer(String playerId, String userId) {
+        if (playerRepository.deleteByIdAndUserId(playerId, userId) == 0) {
+            return Optional.empty();
+        }
+        versions.bump(CollectionVersions.Collection.PLAYERS);
+        return Optional.of(cascadeService.playerDeleted(playerId, userId));
     }
 
     private void syncRolesToUser(Player player) {
@@ -172,6 +256,13 @@ public class PlayerService {
             if (changed) {
                 userRepository.save(user);
             }
+            principalCache.invalidate(user.getId());
+            meterRegistry.counter("picklepro.memberships.syncs", "result", changed ? "updated" : "unchanged")
+                    .increment();
+        } else {
+            meterRegistry.counter("picklepro.memberships.syncs", "result", "unlinked").increment();
         }
+        // The auth filter also resolves memberships from a player whose id matches the user id
+        principalCache.invalidate(player.getId());
     }
 }
@@ -0,0 +1,148 @@
+package com.picklepro.service;
+
+import com.picklepro.model.Group;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.PlayerStats;
+import com.picklepro.model.User;
+import com.picklepro.model.Venue;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs explain() for the shape of every query the application issues and reports the ones
+ * whose winning plan contains a collection scan. Each probe mirrors a repository method or a
+ * MongoTemplate query in the services; add one here alongside any new query. QueryPlanTest
+ * checks the queries the repositories and services actually send against seeded data.
+ */
+@Slf4j
+@Component
+public class QueryPlanVerifier {
+
+    private record Probe(String name, Class<?> entity, Query query) {
+    }
+
+    private static final String ID = "probe";
+
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+
+    public QueryPlanVerifier(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    /**
+     * @return a description of each probe whose plan scans the whole collection
+     */
+    public List<String> findCollectionScans() {
+        List<Probe> probes = probes();
+        List<String> scans = new ArrayList<>();
+        for (Probe probe : probes) {
+            // A missing collection explains as EOF, which would hide a scan
+            if (!mongoTemplate.collectionExists(probe.entity())) {
+                scans.add(probe.name() + " not verified, " + mongoTemplate.getCollectionName(probe.entity())
+                        + " does not exist");
+                continue;
+            }
+            Document plan = explain(probe);
+            if (containsCollectionScan(plan)) {
+                scans.add(probe.name() + " scans " + mongoTemplate.getCollectionName(probe.entity()));
+            }
+        }
+        log.info("Verified query plans for {} queries, {} collection scans", probes.size(), scans.size());
+        return scans;
+    }
+
+    private Document explain(Probe probe) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(probe.entity());
+        Document filter = queryMapper.getMappedObject(probe.query().getQueryObject(), entity);
+        Document sort = queryMapper.getMappedSort(probe.query().getSortObject(), entity);
+        Document explained = mongoTemplate.getCollection(mongoTemplate.getCollectionName(probe.entity()))
+                .find(filter)
+                .sort(sort)
+                .limit(probe.query().getLimit())
+                .explain();
+        Object planner = explained.get("queryPlanner");
+        return planner instanceof Document queryPlanner ? queryPlanner.get("winningPlan", new Document())
+                : new Document();
+    }
+
+    // Classic and slot-based plans nest stages differently, so search the whole tree
+    static boolean containsCollectionScan(Object node) {
+        if (node instanceof Document document) {
+            if ("COLLSCAN".equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(QueryPlanVerifier::containsCollectionScan);
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(QueryPlanVerifier::containsCollectionScan);
+        }
+        return false;
+    }
+
+    private static List<Probe> probes() {
+        Sort feedOrder = Sort.by(Sort.Direction.DESC, "date").and(Sort.by(Sort.Direction.DESC, "id"));
+        Sort historyOrder = Sort.by(Sort.Direction.ASC, "date").and(Sort.by(Sort.Direction.ASC, "id"));
+        Criteria afterCursor = new Criteria().orOperator(Criteria.where("date").lt(Instant.EPOCH),
+                Criteria.where("date").is(Instant.EPOCH).and("id").lt(ID));
+        String membership = "memberships." + ID;
+
+        return List.of(
+                // MatchRepository
+                new Probe("matches by user", Match.class, new Query(Criteria.where("userId").is(ID))),
+                new Probe("matches by user, newest first", Match.class,
+                        new Query(Criteria.where("userId").is(ID)).with(Sort.by(Sort.Direction.DESC, "date"))),
+                new Probe("matches newest first", Match.class,
+                        new Query().with(Sort.by(Sort.Direction.DESC, "date"))),
+                new Probe("matches by venue", Match.class, new Query(Criteria.where("venueId").is(ID))),
+                new Probe("matches by group, newest first", Match.class,
+                        new Query(Criteria.where("groupId").is(ID)).with(Sort.by(Sort.Direction.DESC, "date"))),
+                new Probe("match feed", Match.class, new Query(afterCursor).with(feedOrder).limit(21)),
+                new Probe("match feed by group", Match.class, new Query(new Criteria().andOperator(
+                        Criteria.where("groupId").is(ID), afterCursor)).with(feedOrder).limit(21)),
+                new Probe("match feed by venue", Match.class, new Query(new Criteria().andOperator(
+                        Criteria.where("venueId").is(ID), afterCursor)).with(feedOrder).limit(21)),
+                new Probe("match feed by type", Match.class, new Query(new Criteria().andOperator(
+                        Criteria.where("type").is(Match.MatchType.Doubles), afterCursor)).with(feedOrder).limit(21)),
+                // Rating replay and export
+                new Probe("match history by group", Match.class,
+                        new Query(Criteria.where("groupId").is(ID)).with(historyOrder)),
+                new Probe("match history", Match.class, new Query().with(historyOrder).limit(1)),
+                // Cascades
+                new Probe("players by group membership", Player.class,
+                        new Query(Criteria.where(membership).exists(true))),
+                new Probe("users by group membership", User.class,
+                        new Query(Criteria.where(membership).exists(true))),
+                new Probe("venues by group", Venue.class, new Query(Criteria.where("groupId").is(ID))),
+                new Probe("stats by player", PlayerStats.class, new Query(Criteria.where("playerId").is(ID))),
+                new Probe("stats by group", PlayerStats.class,
+                        new Query(Criteria.where("groupId").is(ID).and("matchesPlayed").gt(0))),
+                // PlayerRepository, UserRepository, GroupRepository
+                new Probe("player listing page", Player.class, new Query(new Criteria().orOperator(
+                        Criteria.where("name").gt(ID), Criteria.where("name").is(ID).and("id").gt(ID)))
+                        .with(Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id")))
+                        .limit(51)),
+                new Probe("player listing by group", Player.class,
+                        new Query(Criteria.where(membership).exists(true))
+                                .with(Sort.by(Sort.Direction.ASC, "name").and(Sort.by(Sort.Direction.ASC, "id")))),
+                new Probe("players by user", Player.class, new Query(Criteria.where("userId").is(ID))),
+                new Probe("player by email", Player.class, new Query(Criteria.where("email").is(ID))),
+                new Probe("user by email", User.class, new Query(Criteria.where("email").is(ID))),
+                new Probe("user by Google ID", User.class, new Query(Criteria.where("googleId").is(ID))),
+                new Probe("group by name", Group.class, new Query(Criteria.where("name").is(ID))));
+    }
+}
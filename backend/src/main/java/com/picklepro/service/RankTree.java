@@ -0,0 +1,174 @@
+package com.picklepro.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Order-statistic treap of (rating, player ID) keys, highest rating first and ties broken by
+ * player ID. Every node tracks its subtree size, so inserts, removals, rank lookups and
+ * positional access all take O(log n) expected time, and reading k consecutive positions
+ * takes O(log n + k). Not thread-safe.
+ */
+public final class RankTree {
+
+    /** A player at a 0-based position in the ranking. */
+    public record Position(int index, String playerId, double rating) {
+    }
+
+    private static final class Node {
+        final double rating;
+        final String playerId;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(double rating, String playerId) {
+            this.rating = rating;
+            this.playerId = playerId;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private Node root;
+
+    public int size() {
+        return size(root);
+    }
+
+    /** Adds the key. The same (rating, player ID) pair must not be added twice. */
+    public void add(double rating, String playerId) {
+        root = insert(root, new Node(rating, playerId));
+    }
+
+    public void remove(double rating, String playerId) {
+        root = delete(root, rating, playerId);
+    }
+
+    /**
+     * Returns the 0-based position of the key, or -1 if it is not in the tree.
+     */
+    public int indexOf(double rating, String playerId) {
+        int index = 0;
+        Node node = root;
+        while (node != null) {
+            int c = compare(rating, playerId, node);
+            if (c < 0) {
+                node = node.left;
+            } else if (c > 0) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return index + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns up to count entries starting at the given 0-based position, in rank order.
+     */
+    public List<Position> range(int from, int count) {
+        int start = Math.max(from, 0);
+        int end = (int) Math.min((long) start + Math.max(count, 0), size());
+        List<Position> out = new ArrayList<>(Math.max(end - start, 0));
+        if (start < end) {
+            collect(root, 0, start, end, out);
+        }
+        return out;
+    }
+
+    private static void collect(Node node, int base, int from, int to, List<Position> out) {
+        if (node == null) {
+            return;
+        }
+        int index = base + size(node.left);
+        if (from < index) {
+            collect(node.left, base, from, to, out);
+        }
+        if (index >= from && index < to) {
+            out.add(new Position(index, node.playerId, node.rating));
+        }
+        if (index + 1 < to) {
+            collect(node.right, index + 1, from, to, out);
+        }
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.rating, added.playerId, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        return update(node);
+    }
+
+    private static Node delete(Node node, double rating, String playerId) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(rating, playerId, node);
+        if (c < 0) {
+            node.left = delete(node.left, rating, playerId);
+        } else if (c > 0) {
+            node.right = delete(node.right, rating, playerId);
+        } else {
+            return merge(node.left, node.right);
+        }
+        return update(node);
+    }
+
+    // Every key in a ranks before every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return update(a);
+        }
+        b.left = merge(a, b.left);
+        return update(b);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = update(node);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = update(node);
+        return pivot;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int compare(double rating, String playerId, Node node) {
+        int c = Double.compare(node.rating, rating);
+        return c != 0 ? c : playerId.compareTo(node.playerId);
+    }
+}
@@ -0,0 +1,170 @@
+package com.picklepro.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic Elo replay over a match history held in primitive arrays.
+ *
+ * Players are interned to compact indices as matches are added, and the matches
+ * themselves are stored in a flat layout: for match m, team A is
+ * members[teamAStart[m] .. teamBStart[m]) and team B is members[teamBStart[m] .. teamEnd[m]).
+ * Matches must be added in the order they were played. Not thread-safe.
+ */
+public final class RatingReplayEngine {
+
+    public static final double INITIAL_RATING = 1200.0;
+
+    private final double kFactor;
+
+    private final Map<String, Integer> playerIndex = new HashMap<>();
+    private String[] playerIds = new String[256];
+    private int playerCount;
+
+    private int[] teamAStart = new int[1024];
+    private int[] teamBStart = new int[1024];
+    private int[] teamEnd = new int[1024];
+    private boolean[] teamAWon = new boolean[1024];
+    private int matchCount;
+
+    private int[] members = new int[4096];
+    private int memberCount;
+
+    public RatingReplayEngine(double kFactor) {
+        this.kFactor = kFactor;
+    }
+
+    /** Expected score of side A against side B. */
+    public static double expectedScore(double ratingA, double ratingB) {
+        return 1.0 / (1.0 + Math.pow(10, (ratingB - ratingA) / 400.0));
+    }
+
+    /** Rating change for side A; side B changes by the negation. */
+    public static double ratingDelta(double kFactor, double ratingA, double ratingB, boolean teamAWon) {
+        double actualA = teamAWon ? 1.0 : 0.0;
+        return kFactor * (actualA - expectedScore(ratingA, ratingB));
+    }
+
+    /**
+     * Appends a match. Returns its ordinal, or -1 if it cannot be rated because a team is empty.
+     */
+    public int addMatch(List<String> teamA, List<String> teamB, int scoreA, int scoreB) {
+        if (teamA == null || teamB == null || teamA.isEmpty() || teamB.isEmpty()) {
+            return -1;
+        }
+        if (matchCount == teamAStart.length) {
+            int capacity = matchCount * 2;
+            teamAStart = Arrays.copyOf(teamAStart, capacity);
+            teamBStart = Arrays.copyOf(teamBStart, capacity);
+            teamEnd = Arrays.copyOf(teamEnd, capacity);
+            teamAWon = Arrays.copyOf(teamAWon, capacity);
+        }
+        if (memberCount + teamA.size() + teamB.size() > members.length) {
+            members = Arrays.copyOf(members, Math.max(members.length * 2, memberCount + teamA.size() + teamB.size()));
+        }
+
+        int m = matchCount++;
+        teamAStart[m] = memberCount;
+        for (String id : teamA) {
+            members[memberCount++] = intern(id);
+        }
+        teamBStart[m] = memberCount;
+        for (String id : teamB) {
+            members[memberCount++] = intern(id);
+        }
+        teamEnd[m] = memberCount;
+        teamAWon[m] = scoreA > scoreB;
+        return m;
+    }
+
+    private int intern(String playerId) {
+        Integer existing = playerIndex.get(playerId);
+        if (existing != null) {
+            return existing;
+        }
+        if (playerCount == playerIds.length) {
+            playerIds = Arrays.copyOf(playerIds, playerCount * 2);
+        }
+        playerIds[playerCount] = playerId;
+        playerIndex.put(playerId, playerCount);
+        return playerCount++;
+    }
+
+    /**
+     * Replays every added match in order, starting all players from the initial rating.
+     */
+    public Result replay() {
+        double[] ratings = new double[playerCount];
+        Arrays.fill(ratings, INITIAL_RATING);
+        double[] deltas = new double[matchCount];
+
+        for (int m = 0; m < matchCount; m++) {
+            int aStart = teamAStart[m];
+            int bStart = teamBStart[m];
+            int end = teamEnd[m];
+
+            double sumA = 0;
+            for (int i = aStart; i < bStart; i++) {
+                sumA += ratings[members[i]];
+            }
+            double sumB = 0;
+            for (int i = bStart; i < end; i++) {
+                sumB += ratings[members[i]];
+            }
+
+            double delta = ratingDelta(kFactor, sumA / (bStart - aStart), sumB / (end - bStart), teamAWon[m]);
+            for (int i = aStart; i < bStart; i++) {
+                ratings[members[i]] += delta;
+            }
+            for (int i = bStart; i < end; i++) {
+                ratings[members[i]] -= delta;
+            }
+            deltas[m] = delta;
+        }
+        return new Result(ratings, deltas);
+    }
+
+    public int playerCount() {
+        return playerCount;
+    }
+
+    public int matchCount() {
+        return matchCount;
+    }
+
+    public String playerId(int index) {
+        return playerIds[index];
+    }
+
+    public int[] teamA(int match) {
+        return Arrays.copyOfRange(members, teamAStart[match], teamBStart[match]);
+    }
+
+    public int[] teamB(int match) {
+        return Arrays.copyOfRange(members, teamBStart[match], teamEnd[match]);
+    }
+
+    /**
+     * Final ratings indexed by player index, and the team A rating delta of each match
+     * indexed by match ordinal.
+     */
+    public static final class Result {
+        private final double[] ratings;
+        private final double[] deltas;
+
+        Result(double[] ratings, double[] deltas) {
+            this.ratings = ratings;
+            this.deltas = deltas;
+        }
+
+        public double rating(int playerIndex) {
+            return ratings[playerIndex];
+        }
+
+        public double delta(int match) {
+            return deltas[match];
+        }
+    }
+}
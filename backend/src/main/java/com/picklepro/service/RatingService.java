@@ -1,79 +1,500 @@
 package com.picklepro.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.picklepro.dto.LiveEvent;
+import com.picklepro.dto.RatingReplayResult;
 import com.picklepro.model.Match;
 import com.picklepro.model.Player;
-import com.picklepro.repository.PlayerRepository;
+import com.picklepro.model.RatingLedgerEntry;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
+@Timed("picklepro.service")
 public class RatingService {
 
-    private final PlayerRepository playerRepository;
-    private static final int K_FACTOR = 32;
+    private static final int WRITE_BATCH_SIZE = 1000;
+    // Rounds of guarded writes before the remaining conflicts are applied as plain increments
+    private static final int MAX_ATTEMPTS = 5;
 
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CollectionVersions versions;
+    private final LeaderboardIndex leaderboards;
+    private final Counter conflictCounter;
+    private final Counter matchUpdates;
+    private final Counter importUpdates;
+    private final Counter batchUpdates;
+
+    @Value("${picklepro.rating.k-factor}")
+    private double kFactor;
+
+    public RatingService(MongoTemplate mongoTemplate, ApplicationEventPublisher eventPublisher,
+            CollectionVersions versions, LeaderboardIndex leaderboards, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.versions = versions;
+        this.leaderboards = leaderboards;
+        this.conflictCounter = Counter.builder("picklepro.ratings.conflicts")
+                .description("Guarded player rating writes that missed because the rating changed concurrently")
+                .register(meterRegistry);
+        this.matchUpdates = Counter.builder("picklepro.ratings.updates").tag("source", "match")
+                .description("Matches whose rating changes were applied")
+                .register(meterRegistry);
+        this.importUpdates = Counter.builder("picklepro.ratings.updates").tag("source", "import")
+                .description("Matches whose rating changes were applied")
+                .register(meterRegistry);
+        this.batchUpdates = Counter.builder("picklepro.ratings.updates").tag("source", "batch")
+                .description("Matches whose rating changes were applied")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the Elo change for a match. Ratings are read (rating field only) and each
+     * player's new rating is written guarded on the rating the delta was computed from, see
+     * {@link #applyGuarded}. Call through {@link RatingWorkers}.
+     */
     @Transactional
     public void updateRatings(Match match) {
-        // Fetch all players involved
-        // Assuming match has stored player IDs or we need to fetch them.
-        // Match model currently stores 'teamA' and 'teamB' as List<String> (names or
-        // IDs).
-        // We need to ensure they are IDs to fetch players.
-
-        // For this implementation, we will assume they are IDs or Names we can resolve.
-        // But for robust rating, we really need Player IDs linked.
         // Let's assume the frontend sends Player IDs in match.teamA/teamB.
-
         List<String> teamAIds = match.getTeamA();
         List<String> teamBIds = match.getTeamB();
 
         if (teamAIds == null || teamBIds == null || teamAIds.isEmpty() || teamBIds.isEmpty()) {
             return; // Cannot rate without players
         }
+        if (mongoTemplate.exists(new Query(Criteria.where("matchId").is(match.getId())), RatingLedgerEntry.class)) {
+            return; // Already rated, e.g. by the startup repair
+        }
 
-        List<Player> teamAPlayers = (List<Player>) playerRepository.findAllById(teamAIds);
-        List<Player> teamBPlayers = (List<Player>) playerRepository.findAllById(teamBIds);
-
-        if (teamAPlayers.isEmpty() || teamBPlayers.isEmpty())
+        List<String> allIds = new ArrayList<>(teamAIds);
+        allIds.addAll(teamBIds);
+        Map<String, Double> deltas = applyGuarded(allIds, before -> matchDeltas(match, before));
+        if (deltas.isEmpty())
             return;
 
-        double ratingA = getAverageRating(teamAPlayers);
-        double ratingB = getAverageRating(teamBPlayers);
+        mongoTemplate.save(ledgerEntry(match, deltas));
+        matchUpdates.increment();
+        publishRatings(match.getGroupId(), deltas);
+    }
 
-        double expectedA = 1.0 / (1.0 + Math.pow(10, (ratingB - ratingA) / 400.0));
+    private Map<String, Double> matchDeltas(Match match, Map<String, Double> ratings) {
+        List<String> teamA = match.getTeamA().stream().filter(ratings::containsKey).toList();
+        List<String> teamB = match.getTeamB().stream().filter(ratings::containsKey).toList();
+        Map<String, Double> deltas = new LinkedHashMap<>();
+        if (teamA.isEmpty() || teamB.isEmpty())
+            return deltas;
 
-        double actualA = match.getScoreA() > match.getScoreB() ? 1.0 : 0.0;
         // If draw (not typical in Pickleball but possible in casual), 0.5? Assuming
         // win/loss for now.
+        double delta = RatingReplayEngine.ratingDelta(kFactor, getAverageRating(teamA, ratings),
+                getAverageRating(teamB, ratings), match.getScoreA() > match.getScoreB());
+        teamA.forEach(id -> deltas.put(id, delta));
+        teamB.forEach(id -> deltas.put(id, -delta));
+        return deltas;
+    }
+
+    /**
+     * Computes deltas from the players' ratings before this change and writes each player's
+     * new rating with an update guarded on the rating that was read, so a delta is only ever
+     * applied to the rating it was computed from. Within a group the workers serialize rating
+     * writes, but ratings are global: a player active in two groups can be moved by the other
+     * group's worker in between. Such a guard matches nothing; it is counted in
+     * picklepro.ratings.conflicts, the ratings are read again and the deltas recomputed, and
+     * players already written are corrected to the new deltas the same way. Players deleted
+     * in the meantime drop out. After {@link #MAX_ATTEMPTS} rounds the remaining differences
+     * are added as plain increments and left for the next global replay to correct.
+     *
+     * @param compute deltas per player from ratings before the change (missing ratings count
+     *                as the initial rating); players absent from the map do not exist
+     * @return the deltas applied, per player
+     */
+    private Map<String, Double> applyGuarded(Collection<String> playerIds,
+            Function<Map<String, Double>, Map<String, Double>> compute) {
+        Map<String, Double> applied = new LinkedHashMap<>();
+        for (int attempt = 1;; attempt++) {
+            Map<String, Double> observed = readRatings(new ArrayList<>(playerIds));
+            applied.keySet().retainAll(observed.keySet());
+            Map<String, Double> before = new HashMap<>();
+            observed.forEach((id, rating) -> before.put(id, (rating != null ? rating
+                    : RatingReplayEngine.INITIAL_RATING) - applied.getOrDefault(id, 0.0)));
 
-        // Calculate Rating Change
-        double delta = K_FACTOR * (actualA - expectedA);
+            Map<String, Double> wanted = compute.apply(before);
+            Set<String> changed = new HashSet<>(wanted.keySet());
+            changed.addAll(applied.keySet());
+            changed.removeIf(id -> wanted.getOrDefault(id, 0.0).equals(applied.getOrDefault(id, 0.0)));
 
-        // Apply updates
-        updatePlayerRatings(teamAPlayers, delta);
-        updatePlayerRatings(teamBPlayers, -delta);
+            Map<String, Double> missed = new LinkedHashMap<>();
+            for (String id : changed) {
+                double delta = wanted.getOrDefault(id, 0.0);
+                Query guard = new Query(Criteria.where("id").is(id).and("rating").is(observed.get(id)));
+                if (mongoTemplate.updateFirst(guard, new Update().set("rating", before.get(id) + delta),
+                        Player.class).getMatchedCount() == 0) {
+                    missed.put(id, delta - applied.getOrDefault(id, 0.0));
+                } else if (delta == 0.0) {
+                    applied.remove(id);
+                } else {
+                    applied.put(id, delta);
+                }
+            }
+            if (missed.isEmpty()) {
+                return applied;
+            }
 
-        playerRepository.saveAll(teamAPlayers);
-        playerRepository.saveAll(teamBPlayers);
+            conflictCounter.increment(missed.size());
+            if (attempt == MAX_ATTEMPTS) {
+                log.warn("Ratings of players {} kept changing concurrently, applying deltas as increments",
+                        missed.keySet());
+                applyDeltas(missed);
+                missed.forEach((id, difference) -> applied.merge(id, difference, Double::sum));
+                applied.values().removeIf(delta -> delta == 0.0);
+                return applied;
+            }
+        }
     }
 
-    private double getAverageRating(List<Player> players) {
-        return players.stream()
-                .mapToDouble(p -> p.getRating() != null ? p.getRating() : 1200.0)
-                .average()
-                .orElse(1200.0);
+    private Map<String, Double> readRatings(List<String> playerIds) {
+        Query query = new Query(Criteria.where("id").in(playerIds));
+        query.fields().include("rating");
+
+        // Values may be null for players that predate the rating field
+        Map<String, Double> ratings = new HashMap<>();
+        mongoTemplate.find(query, Player.class).forEach(p -> ratings.put(p.getId(), p.getRating()));
+        return ratings;
+    }
+
+    /**
+     * Adds deltas that do not depend on the current ratings (a revert, or the leftovers of
+     * {@link #applyGuarded}) as unordered bulks of single-document updates. Each update adds
+     * the delta on the server, so concurrent writers never overwrite each other; a rating that
+     * predates the field counts from the initial rating. Players deleted in the meantime
+     * simply match nothing.
+     */
+    private void applyDeltas(Map<String, Double> deltas) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Player.class);
+        int pending = 0;
+        for (Map.Entry<String, Double> delta : deltas.entrySet()) {
+            bulk.updateOne(new Query(Criteria.where("id").is(delta.getKey())), AggregationUpdate.update()
+                    .set("rating").toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull("rating")
+                            .then(RatingReplayEngine.INITIAL_RATING)).add(delta.getValue())));
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Player.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    /**
+     * Applies a batch of matches (e.g. an import) in date order as one pass: ratings are read
+     * once, Elo runs in memory match by match, and each player's summed delta is written
+     * guarded on the rating it started from; on a conflict the pass is recomputed, see
+     * {@link #applyGuarded}. Ledger entries are inserted in batches.
+     */
+    public void applyInOrder(List<Match> matches) {
+        applyInOrder(matches, importUpdates);
+    }
+
+    /**
+     * Same as {@link #applyInOrder(List)} for matches submitted together by
+     * {@link MatchBatcher}.
+     */
+    public void applyBatch(List<Match> matches) {
+        applyInOrder(matches, batchUpdates);
+    }
+
+    private void applyInOrder(List<Match> matches, Counter updates) {
+        // Matches with a ledger entry were rated already, e.g. by the startup repair
+        Set<String> rated = ratedMatchIds(matches);
+        List<Match> ordered = matches.stream()
+                .filter(m -> m.getTeamA() != null && m.getTeamB() != null && !rated.contains(m.getId()))
+                .sorted(Comparator.comparing(Match::getDate).thenComparing(Match::getId))
+                .toList();
+        if (ordered.isEmpty()) {
+            return;
+        }
+
+        Set<String> allIds = new HashSet<>();
+        ordered.forEach(m -> {
+            allIds.addAll(m.getTeamA());
+            allIds.addAll(m.getTeamB());
+        });
+        // Rebuilt whenever a conflict makes the pass run again
+        List<RatingLedgerEntry> ledger = new ArrayList<>(ordered.size());
+        Map<String, Double> totals = applyGuarded(allIds, before -> {
+            ledger.clear();
+            Map<String, Double> current = new HashMap<>(before);
+            Map<String, Double> sums = new LinkedHashMap<>();
+            for (Match match : ordered) {
+                Map<String, Double> deltas = matchDeltas(match, current);
+                if (deltas.isEmpty())
+                    continue;
+                deltas.forEach((id, d) -> {
+                    current.merge(id, d, Double::sum);
+                    sums.merge(id, d, Double::sum);
+                });
+                ledger.add(ledgerEntry(match, deltas));
+            }
+            return sums;
+        });
+
+        for (int from = 0; from < ledger.size(); from += WRITE_BATCH_SIZE) {
+            mongoTemplate.insertAll(ledger.subList(from, Math.min(from + WRITE_BATCH_SIZE, ledger.size())));
+        }
+        updates.increment(ledger.size());
+        publishRatings(null, totals);
+    }
+
+    /**
+     * Hands matches that have no ledger entry to the action in date order, in batches. These
+     * are matches whose queued rating update was lost, e.g. when the server stopped before
+     * the rating workers got to it, plus any that cannot be rated because a team has no
+     * remaining players.
+     *
+     * @return the number of matches handed over
+     */
+    public long forEachUnrated(Consumer<List<Match>> action) {
+        Query query = new Query().with(Sort.by(Sort.Direction.ASC, "date").and(Sort.by(Sort.Direction.ASC, "id")));
+        long found = 0;
+        List<Match> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        try (Stream<Match> matches = mongoTemplate.stream(query, Match.class)) {
+            for (Match match : (Iterable<Match>) matches::iterator) {
+                batch.add(match);
+                if (batch.size() == WRITE_BATCH_SIZE) {
+                    found += handOffUnrated(batch, action);
+                    batch = new ArrayList<>(WRITE_BATCH_SIZE);
+                }
+            }
+        }
+        return found + handOffUnrated(batch, action);
+    }
+
+    /**
+     * @return whether any match has a ledger entry, or there are no matches at all
+     */
+    public boolean hasLedger() {
+        return mongoTemplate.exists(new Query(), RatingLedgerEntry.class)
+                || !mongoTemplate.exists(new Query(), Match.class);
+    }
+
+    private long handOffUnrated(List<Match> batch, Consumer<List<Match>> action) {
+        Set<String> rated = ratedMatchIds(batch);
+        List<Match> unrated = batch.stream().filter(m -> !rated.contains(m.getId())).toList();
+        if (!unrated.isEmpty()) {
+            action.accept(unrated);
+        }
+        return unrated.size();
+    }
+
+    private Set<String> ratedMatchIds(List<Match> matches) {
+        Set<String> rated = new HashSet<>();
+        for (int from = 0; from < matches.size(); from += WRITE_BATCH_SIZE) {
+            List<String> ids = matches.subList(from, Math.min(from + WRITE_BATCH_SIZE, matches.size())).stream()
+                    .map(Match::getId).toList();
+            Query query = new Query(Criteria.where("matchId").in(ids));
+            query.fields().include("matchId");
+            mongoTemplate.find(query, RatingLedgerEntry.class).forEach(entry -> rated.add(entry.getMatchId()));
+        }
+        return rated;
+    }
+
+    /**
+     * Reverses the rating changes recorded for a match and drops its ledger entry. Exact when
+     * the match is the latest one its players took part in; run {@link #replay} for an exact
+     * recomputation otherwise.
+     */
+    public void revertMatch(Match match) {
+        RatingLedgerEntry entry = mongoTemplate.findById(match.getId(), RatingLedgerEntry.class);
+        if (entry == null || entry.getDeltas() == null || entry.getDeltas().isEmpty()) {
+            return;
+        }
+
+        Map<String, Double> reversed = new LinkedHashMap<>();
+        entry.getDeltas().forEach((playerId, delta) -> reversed.put(playerId, -delta));
+        applyDeltas(reversed);
+        mongoTemplate.remove(entry);
+        publishRatings(match.getGroupId(), reversed);
     }
 
-    private void updatePlayerRatings(List<Player> players, double delta) {
-        for (Player p : players) {
-            double current = p.getRating() != null ? p.getRating() : 1200.0;
-            p.setRating(current + delta);
+    /**
+     * Applies the deltas to the leaderboards and announces the resulting ratings. Deltas
+     * commute, so concurrent writers leave the boards on the same ratings as the database
+     * whatever order they get here in; reading absolute values back could not guarantee that.
+     */
+    private void publishRatings(String groupId, Map<String, Double> deltas) {
+        if (deltas.isEmpty()) {
+            return;
         }
+        versions.bump(CollectionVersions.Collection.PLAYERS);
+        Map<String, Double> ratings = leaderboards.applyDeltas(deltas);
+        eventPublisher.publishEvent(LiveEvent.builder()
+                .type(LiveEvent.Type.ratings_changed)
+                .groupId(groupId)
+                .ratings(ratings)
+                .build());
+    }
+
+    /**
+     * Recomputes ratings from match history in date order. A global replay (groupId == null)
+     * rewrites every Player.rating and the ledger. Ratings are global, so a group replay only
+     * reports what the group's matches alone would produce and persists nothing.
+     */
+    public RatingReplayResult replay(String groupId) {
+        long started = System.nanoTime();
+
+        Query query = new Query();
+        if (groupId != null) {
+            query.addCriteria(Criteria.where("groupId").is(groupId));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "date").and(Sort.by(Sort.Direction.ASC, "id")));
+        query.fields().include("date", "teamA", "teamB", "scoreA", "scoreB", "groupId");
+
+        // Deleted players keep their ID in old matches but take no part in the replay
+        Set<String> players = CascadeService.existingPlayerIds(mongoTemplate);
+        RatingReplayEngine engine = new RatingReplayEngine(kFactor);
+        List<Match> rated = new ArrayList<>();
+        try (Stream<Match> matches = mongoTemplate.stream(query, Match.class)) {
+            matches.forEach(match -> {
+                if (engine.addMatch(existing(match.getTeamA(), players), existing(match.getTeamB(), players),
+                        match.getScoreA(), match.getScoreB()) >= 0) {
+                    // Keep only what the ledger needs; teams live in the engine
+                    rated.add(Match.builder().id(match.getId()).date(match.getDate())
+                            .groupId(match.getGroupId()).build());
+                }
+            });
+        }
+        RatingReplayEngine.Result result = engine.replay();
+
+        Map<String, Double> ratings = new HashMap<>(engine.playerCount() * 2);
+        for (int p = 0; p < engine.playerCount(); p++) {
+            ratings.put(engine.playerId(p), result.rating(p));
+        }
+
+        boolean persisted = groupId == null;
+        if (persisted) {
+            writeRatings(ratings);
+            writeLedger(engine, result, rated);
+            versions.bump(CollectionVersions.Collection.PLAYERS);
+            // Unrated players were reset as well, so reload rather than apply the map
+            leaderboards.rebuild();
+            eventPublisher.publishEvent(LiveEvent.builder()
+                    .type(LiveEvent.Type.ratings_changed)
+                    .ratings(ratings)
+                    .build());
+        }
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Replayed {} matches for {} players in {} ms (group={}, persisted={})",
+                engine.matchCount(), engine.playerCount(), elapsedMillis, groupId, persisted);
+
+        return RatingReplayResult.builder()
+                .groupId(groupId)
+                .matchesReplayed(engine.matchCount())
+                .playersRated(engine.playerCount())
+                .elapsedMillis(elapsedMillis)
+                .persisted(persisted)
+                .ratings(persisted ? null : ratings)
+                .build();
+    }
+
+    private static List<String> existing(List<String> team, Set<String> players) {
+        return team == null ? null : team.stream().filter(players::contains).toList();
+    }
+
+    private void writeRatings(Map<String, Double> ratings) {
+        // Reset everyone first so players without any rated match end on the initial rating;
+        // excluding the rated IDs in the filter would not fit in one command for large rosters
+        mongoTemplate.updateMulti(new Query(), new Update().set("rating", RatingReplayEngine.INITIAL_RATING),
+                Player.class);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Player.class);
+        int pending = 0;
+        for (Map.Entry<String, Double> rating : ratings.entrySet()) {
+            bulk.updateOne(new Query(Criteria.where("id").is(rating.getKey())),
+                    new Update().set("rating", rating.getValue()));
+            if (++pending == WRITE_BATCH_SIZE) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Player.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    private void writeLedger(RatingReplayEngine engine, RatingReplayEngine.Result result, List<Match> rated) {
+        mongoTemplate.remove(new Query(), RatingLedgerEntry.class);
+
+        List<RatingLedgerEntry> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        for (int m = 0; m < rated.size(); m++) {
+            double delta = result.delta(m);
+            Map<String, Double> deltas = new HashMap<>();
+            for (int p : engine.teamA(m)) {
+                deltas.put(engine.playerId(p), delta);
+            }
+            for (int p : engine.teamB(m)) {
+                deltas.put(engine.playerId(p), -delta);
+            }
+            batch.add(ledgerEntry(rated.get(m), deltas));
+            if (batch.size() == WRITE_BATCH_SIZE) {
+                mongoTemplate.insertAll(batch);
+                batch = new ArrayList<>(WRITE_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insertAll(batch);
+        }
+    }
+
+    private RatingLedgerEntry ledgerEntry(Match match, Map<String, Double> deltas) {
+        return RatingLedgerEntry.builder()
+                .matchId(match.getId())
+                .groupId(match.getGroupId())
+                .date(match.getDate() != null ? match.getDate() : Instant.now())
+                .kFactor(kFactor)
+                .deltas(deltas)
+                .build();
+    }
+
+    private double getAverageRating(List<String> playerIds, Map<String, Double> ratings) {
+        return playerIds.stream()
+                .mapToDouble(id -> ratings.get(id) != null ? ratings.get(id) : RatingReplayEngine.INITIAL_RATING)
+                .average()
+                .orElse(RatingReplayEngine.INITIAL_RATING);
     }
 }
@@ -0,0 +1,284 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.RatingReplayResult;
+import com.picklepro.model.Match;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Runs rating changes off the request thread with one logical writer per group. Each group
+ * has its own queue, and at most one task drains it at a time on a fixed pool of
+ * picklepro.rating.workers.threads threads, so a group's matches are rated strictly in
+ * submission order without locks while different groups proceed in parallel. A worker
+ * hands its thread back after a bounded number of tasks so a busy group cannot starve the
+ * others.
+ *
+ * Every rating write goes through here: single matches, group-commit batches, imports and
+ * the startup repair are queued per group, and a global replay runs while the workers are
+ * paused. Ratings are global, so a player active in two groups can still be updated by two
+ * workers at once; RatingService guards each write on the rating its delta was computed
+ * from and recomputes on a conflict. Clients see the result through the ratings_changed
+ * live event.
+ *
+ * Queues live in memory. On shutdown the workers finish what is queued. With
+ * picklepro.rating.workers.repair-on-startup, whatever is still left (e.g. after a crash) is
+ * found at the next startup as matches without a rating ledger entry and queued again. That
+ * needs a complete ledger, so it is off by default. Rating a match is skipped when its ledger
+ * entry exists, so a match queued twice is rated once.
+ */
+@Slf4j
+@Component
+public class RatingWorkers {
+
+    private static final int TASKS_PER_TURN = 64;
+    // Queue key for matches outside any group
+    private static final String NO_GROUP = "";
+
+    private record Task(Runnable work, long enqueuedNanos) {
+    }
+
+    private final RatingService ratingService;
+    private final LeaderboardIndex leaderboards;
+    private final ExecutorService executor;
+    private final TaskExecutor repairExecutor;
+    private final boolean repairOnStartup;
+    private final Map<String, Worker> workers = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    // Workers share the read side; a global replay takes the write side. Fair, so a replay is
+    // not starved by workers that keep taking turns
+    private final ReadWriteLock pause = new ReentrantReadWriteLock(true);
+    private final Timer lag;
+
+    public RatingWorkers(RatingService ratingService, LeaderboardIndex leaderboards,
+            @Value("${picklepro.rating.workers.threads}") int threads,
+            @Value("${picklepro.rating.workers.repair-on-startup}") boolean repairOnStartup,
+            TaskExecutor applicationTaskExecutor,
+            MeterRegistry meterRegistry) {
+        this.ratingService = ratingService;
+        this.leaderboards = leaderboards;
+        this.repairExecutor = applicationTaskExecutor;
+        this.repairOnStartup = repairOnStartup;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "rating-worker-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("picklepro.ratings.queue.depth", depth, AtomicInteger::get)
+                .description("Rating updates waiting for their group's worker")
+                .register(meterRegistry);
+        Gauge.builder("picklepro.ratings.queue.oldest", this, RatingWorkers::oldestWaitSeconds)
+                .description("Seconds the task at the head of the longest waiting queue has been queued")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.lag = Timer.builder("picklepro.ratings.queue.lag")
+                .description("Time from submitting a rating update to it being applied")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the leaderboards. They follow ratings through the deltas the workers apply, so
+     * the workers are held back while the players are read.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLeaderboards() {
+        pause.writeLock().lock();
+        try {
+            leaderboards.rebuild();
+        } finally {
+            pause.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Queues matches that were never rated, e.g. because the server stopped with their
+     * updates still queued. Runs in the background; each group's share goes through that
+     * group's worker, so it cannot race the group's newer updates.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void repair() {
+        if (!repairOnStartup) {
+            return;
+        }
+        repairExecutor.execute(() -> {
+            try {
+                if (!ratingService.hasLedger()) {
+                    log.warn("Skipping rating repair: the rating ledger is empty, run a global replay to backfill it");
+                    return;
+                }
+                long unrated = ratingService.forEachUnrated(this::applyBatch);
+                if (unrated > 0) {
+                    log.info("Queued {} matches without a rating ledger entry", unrated);
+                }
+            } catch (RuntimeException e) {
+                log.error("Rating repair failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Stopped rating workers with {} updates still queued; "
+                    + "repair-on-startup or a global replay rates them", depth.get());
+            executor.shutdownNow();
+            return;
+        }
+        // Work that arrived while shutting down was rejected by the pool; run it here
+        workers.values().forEach(worker -> worker.runTurn(Integer.MAX_VALUE));
+    }
+
+    public void updateRatings(Match match) {
+        submit(match.getGroupId(), () -> ratingService.updateRatings(match));
+    }
+
+    public void revertMatch(Match match) {
+        submit(match.getGroupId(), () -> ratingService.revertMatch(match));
+    }
+
+    /**
+     * Queues each group's share of the batch as one ordered pass on that group's worker.
+     */
+    public void applyBatch(List<Match> matches) {
+        submitByGroup(matches, ratingService::applyBatch);
+    }
+
+    /**
+     * Same as {@link #applyBatch(List)} for a batch of imported matches.
+     */
+    public void applyImported(List<Match> matches) {
+        submitByGroup(matches, ratingService::applyInOrder);
+    }
+
+    /**
+     * Runs {@link RatingService#replay}. A global replay resets every rating and rewrites the
+     * ledger in several steps, so it waits for the updates being applied to finish and holds
+     * the workers back until it is done. Updates still queued for matches the replay covered
+     * find their ledger entry afterwards and are skipped; the rest are applied on top.
+     */
+    public RatingReplayResult replay(String groupId) {
+        if (groupId != null) {
+            // Persists nothing
+            return ratingService.replay(groupId);
+        }
+        pause.writeLock().lock();
+        try {
+            return ratingService.replay(null);
+        } finally {
+            pause.writeLock().unlock();
+        }
+    }
+
+    private void submitByGroup(List<Match> matches, Consumer<List<Match>> action) {
+        Map<String, List<Match>> byGroup = new LinkedHashMap<>();
+        matches.forEach(match -> byGroup.computeIfAbsent(key(match.getGroupId()), k -> new ArrayList<>())
+                .add(match));
+        byGroup.forEach((group, groupMatches) -> submit(group, () -> action.accept(groupMatches)));
+    }
+
+    private void submit(String groupId, Runnable work) {
+        Worker worker = workers.computeIfAbsent(key(groupId), Worker::new);
+        depth.incrementAndGet();
+        worker.queue.add(new Task(work, System.nanoTime()));
+        worker.schedule();
+    }
+
+    private double oldestWaitSeconds() {
+        long now = System.nanoTime();
+        long oldest = 0;
+        for (Worker worker : workers.values()) {
+            Task head = worker.queue.peek();
+            if (head != null) {
+                oldest = Math.max(oldest, now - head.enqueuedNanos());
+            }
+        }
+        return oldest / 1e9;
+    }
+
+    private static String key(String groupId) {
+        return groupId == null ? NO_GROUP : groupId;
+    }
+
+    private final class Worker implements Runnable {
+        private final String groupId;
+        private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Worker(String groupId) {
+            this.groupId = groupId;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down: stop() drains the queue, or the next startup repairs it
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            runTurn(TASKS_PER_TURN);
+            scheduled.set(false);
+            // Reschedule if tasks arrived after the last poll or the turn ran out
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+
+        // Blocks while a global replay runs
+        void runTurn(int limit) {
+            pause.readLock().lock();
+            try {
+                runTasks(limit);
+            } finally {
+                pause.readLock().unlock();
+            }
+        }
+
+        private void runTasks(int limit) {
+            for (int done = 0; done < limit; done++) {
+                Task task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                depth.decrementAndGet();
+                try {
+                    task.work().run();
+                } catch (RuntimeException e) {
+                    log.error("Rating update failed for group '{}'", groupId, e);
+                }
+                lag.record(System.nanoTime() - task.enqueuedNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.MatchResponse;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.repository.reactive.ReactiveMatchRepository;
+import com.picklepro.repository.reactive.ReactivePlayerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Non-blocking read path for large listings. Results are pulled from the reactive driver as
+ * the client consumes them, so a slow client holds a cursor rather than a thread and the
+ * full result set is never materialized. Writes stay on the blocking services.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveReadService {
+
+    // Matches are mapped in chunks so unknown player names cost one query per chunk
+    private static final int NAME_BATCH_SIZE = 256;
+
+    private final ReactiveMatchRepository reactiveMatchRepository;
+    private final ReactivePlayerRepository reactivePlayerRepository;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final PlayerNameDictionary playerNames;
+
+    public Flux<MatchResponse> streamMatches(String groupId) {
+        Flux<Match> matches = groupId == null ? reactiveMatchRepository.findAllByOrderByDateDesc()
+                : reactiveMatchRepository.findByGroupIdOrderByDateDesc(groupId);
+        return matches
+                .buffer(NAME_BATCH_SIZE)
+                .concatMap(batch -> resolveNames(batch).thenMany(Flux.fromIterable(batch)))
+                .map(match -> MatchService.toMatchResponse(match, playerNames));
+    }
+
+    public Flux<Player> streamPlayers(String groupId) {
+        if (groupId == null) {
+            return reactivePlayerRepository.findAll();
+        }
+        return reactiveMongoTemplate.find(new Query(Criteria.where("memberships." + groupId).exists(true)),
+                Player.class);
+    }
+
+    private Mono<Void> resolveNames(List<Match> batch) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (Match match : batch) {
+            if (match.getTeamA() != null)
+                ids.addAll(match.getTeamA());
+            if (match.getTeamB() != null)
+                ids.addAll(match.getTeamB());
+        }
+        List<String> missing = playerNames.unknown(ids);
+        if (missing.isEmpty()) {
+            return Mono.empty();
+        }
+        return reactivePlayerRepository.findAllById(missing)
+                .doOnNext(playerNames::put)
+                .then(Mono.fromRunnable(() -> playerNames.markUnresolved(missing)));
+    }
+}
@@ -0,0 +1,238 @@
+package com.picklepro.service;
+
+import com.picklepro.dto.PlayerStatsResponse;
+import com.picklepro.model.Match;
+import com.picklepro.model.PlayerStats;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StatsService {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final PlayerNameDictionary playerNames;
+    private final PairwiseStatsIndex pairwiseStats;
+    private final PlayerSearchIndex playerSearch;
+
+    public List<PlayerStatsResponse> getStats(String groupId) {
+        Query query = new Query(Criteria.where("groupId").is(groupId).and("matchesPlayed").gt(0));
+        List<PlayerStats> stats = mongoTemplate.find(query, PlayerStats.class);
+
+        List<String> playerIds = stats.stream().map(PlayerStats::getPlayerId).toList();
+        playerNames.resolveMissing(playerIds);
+        List<String> names = playerNames.namesOf(playerIds);
+
+        return IntStream.range(0, stats.size())
+                .mapToObj(i -> toResponse(stats.get(i), names.get(i)))
+                .sorted(Comparator.comparingDouble(PlayerStatsResponse::getAvgPointsFor).reversed()
+                        .thenComparing(PlayerStatsResponse::getName))
+                .toList();
+    }
+
+    public void recordMatch(Match match) {
+        applyMatch(match, 1);
+        pairwiseStats.recordMatch(match);
+        playerSearch.recordActivity(match);
+    }
+
+    public void revertMatch(Match match) {
+        if (match.getTeamA() != null && match.getTeamB() != null) {
+            // Players deleted since the match have no stats entries left to revert
+            List<String> ids = new ArrayList<>(match.getTeamA());
+            ids.addAll(match.getTeamB());
+            Set<String> players = CascadeService.existingPlayerIds(mongoTemplate, ids);
+            applyMatch(withPlayers(match, players), -1);
+        }
+        pairwiseStats.revertMatch(match);
+    }
+
+    /**
+     * Folds a batch of matches into the counters with one bulk upsert per touched entry.
+     */
+    public void recordMatches(List<Match> matches) {
+        Map<String, PlayerStats> totals = new HashMap<>();
+        matches.forEach(match -> accumulate(totals, match));
+        pairwiseStats.recordMatches(matches);
+        matches.forEach(playerSearch::recordActivity);
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+        int pending = 0;
+        for (PlayerStats stats : totals.values()) {
+            bulk.upsert(new Query(Criteria.where("id").is(stats.getId())), new Update()
+                    .setOnInsert("playerId", stats.getPlayerId())
+                    .setOnInsert("groupId", stats.getGroupId())
+                    .inc("matchesPlayed", stats.getMatchesPlayed())
+                    .inc("wins", stats.getWins())
+                    .inc("losses", stats.getLosses())
+                    .inc("pointsFor", stats.getPointsFor())
+                    .inc("pointsAgainst", stats.getPointsAgainst()));
+            if (++pending == BATCH_SIZE) {
+                bulk.execute();
+                bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+                pending = 0;
+            }
+        }
+        if (pending > 0) {
+            bulk.execute();
+        }
+    }
+
+    private void applyMatch(Match match, int sign) {
+        if (match.getTeamA() == null || match.getTeamB() == null
+                || match.getTeamA().isEmpty() && match.getTeamB().isEmpty()) {
+            return;
+        }
+
+        // One unordered bulk of $inc upserts: each player, globally and within the match's group
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PlayerStats.class);
+        boolean teamAWon = match.getScoreA() > match.getScoreB();
+        for (String playerId : match.getTeamA()) {
+            addUpserts(bulk, match.getGroupId(), playerId, teamAWon, match.getScoreA(), match.getScoreB(), sign);
+        }
+        for (String playerId : match.getTeamB()) {
+            addUpserts(bulk, match.getGroupId(), playerId, !teamAWon, match.getScoreB(), match.getScoreA(), sign);
+        }
+        bulk.execute();
+    }
+
+    private void addUpserts(BulkOperations bulk, String groupId, String playerId, boolean won,
+            int pointsFor, int pointsAgainst, int sign) {
+        bulk.upsert(idQuery(null, playerId), increments(null, playerId, won, pointsFor, pointsAgainst, sign));
+        if (groupId != null) {
+            bulk.upsert(idQuery(groupId, playerId),
+                    increments(groupId, playerId, won, pointsFor, pointsAgainst, sign));
+        }
+    }
+
+    private Query idQuery(String groupId, String playerId) {
+        return new Query(Criteria.where("id").is(PlayerStats.idFor(groupId, playerId)));
+    }
+
+    private Update increments(String groupId, String playerId, boolean won, int pointsFor, int pointsAgainst,
+            int sign) {
+        return new Update()
+                .setOnInsert("playerId", playerId)
+                .setOnInsert("groupId", groupId)
+                .inc("matchesPlayed", sign)
+                .inc(won ? "wins" : "losses", sign)
+                .inc("pointsFor", (long) sign * pointsFor)
+                .inc("pointsAgainst", (long) sign * pointsAgainst);
+    }
+
+    /**
+     * Builds the stats from match history when there are none yet. Runs while the context
+     * starts, before the web server accepts requests: the rebuild replaces the collection,
+     * and an increment from a request landing in between would be lost or counted twice.
+     */
+    @PostConstruct
+    void backfillIfEmpty() {
+        if (mongoTemplate.estimatedCount(PlayerStats.class) == 0 && mongoTemplate.estimatedCount(Match.class) > 0) {
+            log.info("Player stats are empty, rebuilding from match history");
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        Map<String, PlayerStats> totals = new HashMap<>();
+        Set<String> players = CascadeService.existingPlayerIds(mongoTemplate);
+        try (Stream<Match> matches = mongoTemplate.stream(new Query(), Match.class)) {
+            matches.forEach(match -> accumulate(totals, withPlayers(match, players)));
+        }
+
+        mongoTemplate.remove(new Query(), PlayerStats.class);
+        List<PlayerStats> batch = new ArrayList<>(BATCH_SIZE);
+        for (PlayerStats stats : totals.values()) {
+            batch.add(stats);
+            if (batch.size() == BATCH_SIZE) {
+                mongoTemplate.insertAll(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insertAll(batch);
+        }
+        log.info("Rebuilt {} player stats entries", totals.size());
+    }
+
+    // A copy of the match whose teams hold only the given players
+    private static Match withPlayers(Match match, Set<String> players) {
+        if (match.getTeamA() == null || match.getTeamB() == null) {
+            return match;
+        }
+        return Match.builder().groupId(match.getGroupId()).scoreA(match.getScoreA()).scoreB(match.getScoreB())
+                .teamA(match.getTeamA().stream().filter(players::contains).toList())
+                .teamB(match.getTeamB().stream().filter(players::contains).toList())
+                .build();
+    }
+
+    public static void accumulate(Map<String, PlayerStats> totals, Match match) {
+        if (match.getTeamA() == null || match.getTeamB() == null) {
+            return;
+        }
+        boolean teamAWon = match.getScoreA() > match.getScoreB();
+        for (String playerId : match.getTeamA()) {
+            accumulate(totals, null, playerId, teamAWon, match.getScoreA(), match.getScoreB());
+            if (match.getGroupId() != null) {
+                accumulate(totals, match.getGroupId(), playerId, teamAWon, match.getScoreA(), match.getScoreB());
+            }
+        }
+        for (String playerId : match.getTeamB()) {
+            accumulate(totals, null, playerId, !teamAWon, match.getScoreB(), match.getScoreA());
+            if (match.getGroupId() != null) {
+                accumulate(totals, match.getGroupId(), playerId, !teamAWon, match.getScoreB(), match.getScoreA());
+            }
+        }
+    }
+
+    private static void accumulate(Map<String, PlayerStats> totals, String groupId, String playerId, boolean won,
+            int pointsFor, int pointsAgainst) {
+        PlayerStats stats = totals.computeIfAbsent(PlayerStats.idFor(groupId, playerId),
+                id -> PlayerStats.builder().id(id).playerId(playerId).groupId(groupId).build());
+        stats.setMatchesPlayed(stats.getMatchesPlayed() + 1);
+        if (won) {
+            stats.setWins(stats.getWins() + 1);
+        } else {
+            stats.setLosses(stats.getLosses() + 1);
+        }
+        stats.setPointsFor(stats.getPointsFor() + pointsFor);
+        stats.setPointsAgainst(stats.getPointsAgainst() + pointsAgainst);
+    }
+
+    public static PlayerStatsResponse toResponse(PlayerStats stats, String name) {
+        int played = stats.getMatchesPlayed();
+        return PlayerStatsResponse.builder()
+                .playerId(stats.getPlayerId())
+                .name(name)
+                .groupId(stats.getGroupId())
+                .matchesPlayed(played)
+                .wins(stats.getWins())
+                .losses(stats.getLosses())
+                .winRate(played == 0 ? 0 : stats.getWins() * 100.0 / played)
+                .avgPointsFor(played == 0 ? 0 : (double) stats.getPointsFor() / played)
+                .avgPointsAgainst(played == 0 ? 0 : (double) stats.getPointsAgainst() / played)
+                .build();
+    }
+}
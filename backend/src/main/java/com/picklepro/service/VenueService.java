@@ -1,11 +1,10 @@
 package com.picklepro.service;
 
-import com.picklepro.model.Match;
 import com.picklepro.model.Role;
 import com.picklepro.model.User;
 import com.picklepro.model.Venue;
-import com.picklepro.repository.MatchRepository;
 import com.picklepro.repository.VenueRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,11 +13,12 @@ import java.util.List;
 import java.util.UUID;
 
 @Service
+@Timed("picklepro.service")
 @RequiredArgsConstructor
 public class VenueService {
 
     private final VenueRepository venueRepository;
-    private final MatchRepository matchRepository;
+    private final CollectionVersions versions;
 
     public List<Venue> getAllVenues() {
         return venueRepository.findAll();
@@ -30,7 +30,9 @@ public class VenueService {
         }
         venue.setCreatedByUserId(userId);
         venue.setGroupId(groupId);
-        return venueRepository.save(venue);
+        Venue saved = venueRepository.save(venue);
+        versions.bump(CollectionVersions.Collection.VENUES);
+        return saved;
     }
 
     @Transactional
@@ -43,7 +45,9 @@ public class VenueService {
         existing.setName(venue.getName());
         existing.setLocation(venue.getLocation());
         existing.setCourtCount(venue.getCourtCount());
-        return venueRepository.save(existing);
+        Venue saved = venueRepository.save(existing);
+        versions.bump(CollectionVersions.Collection.VENUES);
+        return saved;
     }
 
     @Transactional
@@ -53,10 +57,9 @@ public class VenueService {
 
         validateOwnership(existing, currentUser);
 
-        // Mark Matches with (UNKNOWN)
-        updateMatchesWithUnknownVenue(id);
-
+        // Matches keep the venue ID, which clients render as an unknown venue
         venueRepository.deleteById(id);
+        versions.bump(CollectionVersions.Collection.VENUES);
     }
 
     private void validateOwnership(Venue venue, User currentUser) {
@@ -71,13 +74,4 @@ public class VenueService {
                     "Unauthorized: You can only manage venues you created or manage as a Group Admin.");
         }
     }
-
-    private void updateMatchesWithUnknownVenue(String venueId) {
-        // Optimized: only fetch matches that use this venue
-        List<Match> matches = matchRepository.findByVenueId(venueId);
-        matches.forEach(m -> {
-            m.setVenueId("UNKNOWN");
-            matchRepository.save(m);
-        });
-    }
 }
@@ -0,0 +1,131 @@
+package com.picklepro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link PairCounters} through table growth and through counterparts whose counters go
+ * back to zero and are recorded again, against a plain map.
+ */
+class PairCountersTest {
+
+    private record Counts(int wins, int losses, long pointDifferential) {
+    }
+
+    @Test
+    void growsPastTheLoadFactor() {
+        PairCounters counters = new PairCounters();
+        Map<Integer, Counts> expected = new HashMap<>();
+        for (int counterpart = 0; counterpart < 1000; counterpart++) {
+            // Spread keys out so they do not land in consecutive slots
+            int key = counterpart * 7919;
+            counters.add(key, counterpart % 3 != 0, counterpart % 11, 1);
+            expected.put(key, counterpart % 3 != 0 ? new Counts(1, 0, counterpart % 11)
+                    : new Counts(0, 1, counterpart % 11));
+        }
+
+        assertThat(contents(counters)).isEqualTo(expected);
+        expected.forEach((key, counts) -> assertThat(get(counters, key)).isEqualTo(counts));
+        assertThat(get(counters, 1)).isNull();
+    }
+
+    @Test
+    void takingBackTheLastMatchHidesTheCounterpart() {
+        PairCounters counters = new PairCounters();
+        counters.add(5, true, 4, 1);
+        counters.add(5, true, 4, -1);
+
+        assertThat(get(counters, 5)).isNull();
+        assertThat(contents(counters)).isEmpty();
+
+        counters.add(5, false, -2, 1);
+        assertThat(get(counters, 5)).isEqualTo(new Counts(0, 1, -2));
+    }
+
+    @Test
+    void clearedCounterpartCanBeRecordedAgainAfterGrowth() {
+        PairCounters counters = new PairCounters();
+        counters.add(42, true, 3, 1);
+        counters.clear(42);
+        assertThat(get(counters, 42)).isNull();
+
+        // Growing drops the zeroed entry; the counterpart must still be found once re-added
+        for (int counterpart = 100; counterpart < 200; counterpart++) {
+            counters.add(counterpart, true, 1, 1);
+        }
+        counters.add(42, true, 6, 1);
+        counters.add(42, false, -1, 1);
+
+        assertThat(get(counters, 42)).isEqualTo(new Counts(1, 1, 5));
+        assertThat(contents(counters)).hasSize(101);
+    }
+
+    @Test
+    void takingBackAnUnknownCounterpartDoesNothing() {
+        PairCounters counters = new PairCounters();
+        counters.add(7, true, 2, -1);
+
+        assertThat(get(counters, 7)).isNull();
+        assertThat(contents(counters)).isEmpty();
+    }
+
+    @Test
+    void matchesMapUnderRandomChanges() {
+        Random random = new Random(7);
+        PairCounters counters = new PairCounters();
+        Map<Integer, Counts> expected = new HashMap<>();
+        // Recorded matches, so a takeback always undoes one that happened
+        List<int[]> played = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            if (played.isEmpty() || random.nextInt(3) > 0) {
+                int counterpart = random.nextInt(300);
+                boolean won = random.nextBoolean();
+                int diff = random.nextInt(21) - 10;
+                counters.add(counterpart, won, diff, 1);
+                expected.merge(counterpart, counts(won, diff, 1), PairCountersTest::sum);
+                played.add(new int[] { counterpart, won ? 1 : 0, diff });
+            } else {
+                int[] match = played.remove(random.nextInt(played.size()));
+                counters.add(match[0], match[1] == 1, match[2], -1);
+                expected.merge(match[0], counts(match[1] == 1, match[2], -1), PairCountersTest::sum);
+            }
+        }
+        expected.values().removeIf(counts -> counts.wins() + counts.losses() == 0);
+
+        assertThat(contents(counters)).isEqualTo(expected);
+        expected.forEach((key, counts) -> assertThat(get(counters, key)).isEqualTo(counts));
+    }
+
+    private static Counts counts(boolean won, int diff, int sign) {
+        return new Counts(won ? sign : 0, won ? 0 : sign, (long) sign * diff);
+    }
+
+    private static Counts sum(Counts a, Counts b) {
+        return new Counts(a.wins() + b.wins(), a.losses() + b.losses(),
+                a.pointDifferential() + b.pointDifferential());
+    }
+
+    private static Counts get(PairCounters counters, int counterpart) {
+        Map<Integer, Counts> found = new HashMap<>();
+        counters.get(counterpart,
+                (key, wins, losses, diff) -> found.put(key, new Counts(wins, losses, diff)));
+        return found.get(counterpart);
+    }
+
+    private static Map<Integer, Counts> contents(PairCounters counters) {
+        Map<Integer, Counts> found = new HashMap<>();
+        counters.forEach((key, wins, losses, diff) -> {
+            assertThat(found).doesNotContainKey(key);
+            found.put(key, new Counts(wins, losses, diff));
+        });
+        return found;
+    }
+}
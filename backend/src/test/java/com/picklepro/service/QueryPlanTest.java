@@ -0,0 +1,244 @@
+package com.picklepro.service;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.picklepro.dto.MatchCursor;
+import com.picklepro.dto.PlayerCursor;
+import com.picklepro.model.Group;
+import com.picklepro.model.Match;
+import com.picklepro.model.Player;
+import com.picklepro.model.PlayerStats;
+import com.picklepro.model.Role;
+import com.picklepro.model.User;
+import com.picklepro.model.Venue;
+import com.picklepro.repository.GroupRepository;
+import com.picklepro.repository.MatchRepository;
+import com.picklepro.repository.PlayerRepository;
+import com.picklepro.repository.UserRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mongodb.MongoDBContainer;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the repository and service queries against a seeded MongoDB with the registered
+ * indexes and asserts that none of the find commands they send is planned as a collection
+ * scan. Startup runs with picklepro.indexes.verify=fail, so the context also fails to load if
+ * an index cannot be built or a {@link QueryPlanVerifier} probe scans.
+ */
+@Testcontainers
+@SpringBootTest(properties = {
+        "picklepro.indexes.verify=fail",
+        "picklepro.admin-emails=admin@example.com"
+})
+class QueryPlanTest {
+
+    private static final int PLAYERS = 60;
+    private static final int MATCHES = 500;
+    private static final String GROUP = "group-1";
+    private static final String VENUE = "venue-1";
+    private static final String USER = "user-1";
+
+    // Find commands sent since the last reset, recorded from the driver
+    private static final Queue<BsonDocument> finds = new ConcurrentLinkedQueue<>();
+
+    @Container
+    static final MongoDBContainer mongo = new MongoDBContainer("mongo:7.0");
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mongodb.uri", () -> mongo.getReplicaSetUrl("picklepro"));
+    }
+
+    @TestConfiguration
+    static class RecordFinds {
+        @Bean
+        MongoClientSettingsBuilderCustomizer recordFinds() {
+            CommandListener listener = new CommandListener() {
+                @Override
+                public void commandStarted(CommandStartedEvent event) {
+                    if ("find".equals(event.getCommandName())) {
+                        finds.add(event.getCommand().clone());
+                    }
+                }
+            };
+            return builder -> builder.addCommandListener(listener);
+        }
+    }
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    @Autowired
+    private QueryPlanVerifier planVerifier;
+    @Autowired
+    private MatchRepository matchRepository;
+    @Autowired
+    private PlayerRepository playerRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private StatsService statsService;
+    @Autowired
+    private ExportService exportService;
+    @Autowired
+    private RatingService ratingService;
+
+    @BeforeEach
+    void seed() {
+        if (mongoTemplate.count(new Query(), Match.class) > 0) {
+            finds.clear();
+            return;
+        }
+        mongoTemplate.insert(Group.builder().id(GROUP).name("Tuesday Club").build());
+        mongoTemplate.insert(Venue.builder().id(VENUE).name("Riverside").groupId(GROUP).courtCount(4).build());
+        mongoTemplate.insert(User.builder().id(USER).name("Owner").email("owner@example.com").googleId("google-1")
+                .memberships(Map.of(GROUP, Role.GROUP_ADMIN)).build());
+
+        List<Player> players = new ArrayList<>();
+        List<PlayerStats> stats = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            String id = "player-" + i;
+            players.add(Player.builder().id(id).name("Player " + i).email(id + "@example.com")
+                    .userId(i % 2 == 0 ? USER : "user-" + i)
+                    .memberships(i % 3 == 0 ? Map.of(GROUP, Role.VIEWER) : Map.of()).build());
+            stats.add(PlayerStats.builder().id(PlayerStats.idFor(null, id)).playerId(id).matchesPlayed(1).wins(1)
+                    .build());
+            stats.add(PlayerStats.builder().id(PlayerStats.idFor(GROUP, id)).playerId(id).groupId(GROUP)
+                    .matchesPlayed(1).losses(1).build());
+        }
+        mongoTemplate.insertAll(players);
+        mongoTemplate.insertAll(stats);
+
+        List<Match> matches = new ArrayList<>();
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < MATCHES; i++) {
+            matches.add(Match.builder().id(String.format("match-%04d", i))
+                    .date(start.plus(Duration.ofHours(i)))
+                    .type(i % 2 == 0 ? Match.MatchType.Singles : Match.MatchType.Doubles)
+                    .teamA(List.of("player-" + (i % PLAYERS)))
+                    .teamB(List.of("player-" + ((i + 1) % PLAYERS)))
+                    .scoreA(11).scoreB(i % 10)
+                    .userId(i % 4 == 0 ? USER : "user-" + (i % 7))
+                    .venueId(i % 5 == 0 ? VENUE : null)
+                    .groupId(i % 2 == 0 ? GROUP : null)
+                    .build());
+        }
+        mongoTemplate.insertAll(matches);
+        finds.clear();
+    }
+
+    @Test
+    void verifierProbesUseIndexes() {
+        assertThat(planVerifier.findCollectionScans()).isEmpty();
+    }
+
+    @Test
+    void detectsCollectionScans() {
+        // Guards against a plan that passes only because it is empty, e.g. EOF
+        mongoTemplate.find(new Query(Criteria.where("notes").is("unindexed")), Match.class);
+
+        assertThat(collectionScans()).contains("matches " + new Document("notes", "unindexed").toJson());
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        Instant middle = Instant.parse("2025-01-10T00:00:00Z");
+        MatchCursor matchCursor = new MatchCursor(middle, "match-0200");
+
+        matchRepository.findByUserId(USER);
+        matchRepository.findByUserIdOrderByDateDesc(USER);
+        matchRepository.findAllByOrderByDateDesc();
+        matchRepository.findByVenueId(VENUE);
+        matchRepository.findByGroupId(GROUP);
+        matchRepository.findMatchPage(null, null, null, null, 21);
+        matchRepository.findMatchPage(null, null, null, matchCursor, 21);
+        matchRepository.findMatchPage(GROUP, null, null, matchCursor, 21);
+        matchRepository.findMatchPage(null, VENUE, null, matchCursor, 21);
+        matchRepository.findMatchPage(null, null, Match.MatchType.Doubles, matchCursor, 21);
+
+        playerRepository.findByUserId(USER);
+        playerRepository.findByEmail("player-7@example.com");
+        playerRepository.findPlayerViews(null, null, null, 51);
+        playerRepository.findPlayerViews(null, Set.of("name"), new PlayerCursor("Player 3", "player-3"), 51);
+        playerRepository.findPlayerViews(GROUP, null, null, 0);
+
+        userRepository.findByEmail("owner@example.com");
+        userRepository.findByGoogleId("google-1");
+        groupRepository.findByName("Tuesday Club");
+
+        assertThat(finds).isNotEmpty();
+        assertThat(collectionScans()).isEmpty();
+    }
+
+    @Test
+    void serviceQueriesUseIndexes() throws Exception {
+        Instant from = Instant.parse("2025-01-05T00:00:00Z");
+        Instant to = Instant.parse("2025-01-15T00:00:00Z");
+
+        statsService.getStats(null);
+        statsService.getStats(GROUP);
+        exportService.exportMatches(ExportService.Format.NDJSON, null, null, null, OutputStream.nullOutputStream());
+        exportService.exportMatches(ExportService.Format.CSV, from, to, GROUP, OutputStream.nullOutputStream());
+        exportService.exportMatches(ExportService.Format.CSV, from, null, null, OutputStream.nullOutputStream());
+        exportService.exportPlayers(ExportService.Format.NDJSON, GROUP, OutputStream.nullOutputStream());
+        ratingService.replay(GROUP);
+
+        assertThat(finds).isNotEmpty();
+        assertThat(collectionScans()).isEmpty();
+    }
+
+    /**
+     * Explains every recorded find and describes the ones planned as a collection scan. A find
+     * without a filter or sort reads the whole collection on purpose and is left out.
+     */
+    private List<String> collectionScans() {
+        List<String> scans = new ArrayList<>();
+        for (BsonDocument find; (find = finds.poll()) != null; ) {
+            BsonDocument filter = find.getDocument("filter", new BsonDocument());
+            BsonDocument sort = find.getDocument("sort", new BsonDocument());
+            if (filter.isEmpty() && sort.isEmpty()) {
+                continue;
+            }
+            BsonDocument query = new BsonDocument("find", find.get("find")).append("filter", filter)
+                    .append("sort", sort);
+            if (find.containsKey("limit")) {
+                query.append("limit", find.get("limit"));
+            }
+            Document explained = mongoTemplate.getDb().runCommand(
+                    new BsonDocument("explain", query).append("verbosity", new BsonString("queryPlanner")));
+            Document plan = explained.get("queryPlanner", Document.class).get("winningPlan", Document.class);
+            if (QueryPlanVerifier.containsCollectionScan(plan)) {
+                scans.add(find.getString("find").getValue() + " " + filter.toJson());
+            }
+        }
+        return scans;
+    }
+}
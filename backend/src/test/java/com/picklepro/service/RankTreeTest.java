@@ -0,0 +1,131 @@
+package com.picklepro.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks {@link RankTree} against a plain sorted list through random inserts, removals and
+ * rating updates, with many players sharing a rating so ties are ordered by player ID.
+ */
+class RankTreeTest {
+
+    private record Entry(double rating, String playerId) {
+    }
+
+    private static final Comparator<Entry> RANK_ORDER = Comparator.<Entry>comparingDouble(Entry::rating)
+            .reversed().thenComparing(Entry::playerId);
+
+    @Test
+    void emptyTree() {
+        RankTree tree = new RankTree();
+
+        assertThat(tree.size()).isZero();
+        assertThat(tree.indexOf(1000, "p1")).isEqualTo(-1);
+        assertThat(tree.range(0, 10)).isEmpty();
+    }
+
+    @Test
+    void ordersByRatingThenPlayerId() {
+        RankTree tree = new RankTree();
+        tree.add(1000, "b");
+        tree.add(1200, "c");
+        tree.add(1000, "a");
+        tree.add(900, "d");
+
+        assertThat(tree.range(0, 10)).containsExactly(
+                new RankTree.Position(0, "c", 1200),
+                new RankTree.Position(1, "a", 1000),
+                new RankTree.Position(2, "b", 1000),
+                new RankTree.Position(3, "d", 900));
+        assertThat(tree.indexOf(1000, "b")).isEqualTo(2);
+        // Same player at another rating is a different key
+        assertThat(tree.indexOf(1100, "b")).isEqualTo(-1);
+    }
+
+    @Test
+    void clampsRanges() {
+        RankTree tree = new RankTree();
+        for (int i = 0; i < 5; i++) {
+            tree.add(1000 + i, "p" + i);
+        }
+
+        assertThat(tree.range(-3, 2)).extracting(RankTree.Position::playerId).containsExactly("p4", "p3");
+        assertThat(tree.range(3, 10)).extracting(RankTree.Position::index).containsExactly(3, 4);
+        assertThat(tree.range(5, 1)).isEmpty();
+        assertThat(tree.range(1, 0)).isEmpty();
+        assertThat(tree.range(1, Integer.MAX_VALUE)).hasSize(4);
+    }
+
+    @Test
+    void removingAMissingKeyChangesNothing() {
+        RankTree tree = new RankTree();
+        tree.add(1000, "a");
+
+        tree.remove(1000, "b");
+        tree.remove(999, "a");
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(tree.indexOf(1000, "a")).isZero();
+    }
+
+    @Test
+    void matchesSortedListUnderRandomChanges() {
+        Random random = new Random(42);
+        RankTree tree = new RankTree();
+        List<Entry> expected = new ArrayList<>();
+
+        for (int step = 0; step < 5000; step++) {
+            int op = random.nextInt(10);
+            if (expected.isEmpty() || op < 4) {
+                // Few distinct ratings, so most inserts tie with existing players
+                Entry added = new Entry(900 + 25 * random.nextInt(8), "p" + step);
+                tree.add(added.rating(), added.playerId());
+                expected.add(added);
+            } else if (op < 6) {
+                Entry removed = expected.remove(random.nextInt(expected.size()));
+                tree.remove(removed.rating(), removed.playerId());
+            } else {
+                // A rating update is a removal and an insert of the same player
+                int i = random.nextInt(expected.size());
+                Entry old = expected.get(i);
+                Entry updated = new Entry(900 + 25 * random.nextInt(8), old.playerId());
+                tree.remove(old.rating(), old.playerId());
+                tree.add(updated.rating(), updated.playerId());
+                expected.set(i, updated);
+            }
+
+            if (step % 250 == 0) {
+                assertMatches(tree, expected);
+            }
+        }
+        assertMatches(tree, expected);
+    }
+
+    private static void assertMatches(RankTree tree, List<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(RANK_ORDER);
+
+        assertThat(tree.size()).isEqualTo(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertThat(tree.indexOf(sorted.get(i).rating(), sorted.get(i).playerId())).isEqualTo(i);
+        }
+
+        List<RankTree.Position> all = tree.range(0, sorted.size());
+        assertThat(all).hasSize(sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            Entry entry = sorted.get(i);
+            assertThat(all.get(i)).isEqualTo(new RankTree.Position(i, entry.playerId(), entry.rating()));
+        }
+
+        // Pages from the middle select the same slice
+        int from = sorted.size() / 3;
+        List<RankTree.Position> page = tree.range(from, 17);
+        assertThat(page).isEqualTo(all.subList(from, Math.min(from + 17, all.size())));
+    }
+}
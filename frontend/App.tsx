@@ -1,5 +1,5 @@
 import React, { useState, useEffect, useCallback } from 'react';
-import { User, Match, Player, AppState, Venue, Group, Role } from './types';
+import { User, Match, Player, AppState, Venue, Group, Role, LiveEvent } from './types';
 import AuthOverlay from './components/AuthOverlay';
 import MatchForm from './components/MatchForm';
 import MatchList from './components/MatchList';
@@ -10,7 +10,7 @@ import ProfileEditor from './components/ProfileEditor';
 import CreateGroupModal from './components/CreateGroupModal';
 import GroupSelector from './components/GroupSelector';
 import { Icons } from './constants';
-import { playersApi, matchesApi, venuesApi, groupsApi } from './api';
+import { playersApi, matchesApi, venuesApi, groupsApi, eventsApi } from './api';
 
 const THEME_KEY = 'picklepro_theme';
 const ACTIVE_GROUP_KEY = 'picklepro_active_group';
@@ -91,6 +91,34 @@ const App: React.FC = () => {
     }
   }, [state.user, loadData]);
 
+  // Apply pushed match and rating changes instead of re-fetching everything
+  useEffect(() => {
+    if (!state.user) return;
+    // Only system admins may follow every group at once
+    if (!state.activeGroupId && state.user.systemRole !== 'ADMIN') return;
+
+    const source = eventsApi.subscribe(state.activeGroupId, (event: LiveEvent) => {
+      setState(prev => {
+        switch (event.type) {
+          case 'match_created':
+            return prev.matches.some(m => m.id === event.match.id)
+              ? prev
+              : { ...prev, matches: [...prev.matches, event.match] };
+          case 'match_deleted':
+            return { ...prev, matches: prev.matches.filter(m => m.id !== event.matchId) };
+          case 'ratings_changed':
+            return {
+              ...prev,
+              players: prev.players.map(p => event.ratings[p.id] !== undefined ? { ...p, rating: event.ratings[p.id] } : p)
+            };
+          default:
+            return prev;
+        }
+      });
+    });
+    return () => source.close();
+  }, [state.user, state.activeGroupId]);
+
   useEffect(() => {
     if (theme === 'dark') {
       document.documentElement.classList.add('dark');
@@ -247,9 +275,10 @@ const App: React.FC = () => {
       setError(null);
       const matchWithGroup = { ...matchData, groupId: state.activeGroupId || undefined };
       const newMatch = await matchesApi.create(matchWithGroup);
-      // Re-fetch players to pick up updated ratings from RatingService
-      const updatedPlayers = await playersApi.getAll();
-      setState(prev => ({ ...prev, matches: [...prev.matches, newMatch], players: updatedPlayers }));
+      // New ratings arrive as a ratings_changed event; the event stream may also deliver this match
+      setState(prev => prev.matches.some(m => m.id === newMatch.id)
+        ? prev
+        : { ...prev, matches: [...prev.matches, newMatch] });
       setShowForm(false);
       setActiveTab('history');
     } catch (err) {
@@ -264,9 +293,8 @@ const App: React.FC = () => {
     try {
       setError(null);
       await matchesApi.delete(id);
-      // Re-fetch players to pick up any rating recalculations
-      const updatedPlayers = await playersApi.getAll();
-      setState(prev => ({ ...prev, matches: prev.matches.filter(m => m.id !== id), players: updatedPlayers }));
+      // Reverted ratings arrive as a ratings_changed event
+      setState(prev => ({ ...prev, matches: prev.matches.filter(m => m.id !== id) }));
     } catch (err) {
       console.error('Failed to delete match:', err);
       setError('Failed to delete match. Please try again.');
@@ -416,7 +444,7 @@ const App: React.FC = () => {
           <MatchForm players={groupPlayers} matches={groupMatches} onSave={handleSaveMatch} onCancel={() => setShowForm(false)} />
         ) : (
           <div className="animate-in fade-in duration-300">
-            {activeTab === 'stats' && <StatsDashboard matches={groupMatches} players={groupPlayers} userName={state.user.name} />}
+            {activeTab === 'stats' && <StatsDashboard matches={groupMatches} players={groupPlayers} groupId={state.activeGroupId} userName={state.user.name} />}
             {activeTab === 'history' && <MatchList matches={groupMatches} venues={allVenues} onDelete={handleDeleteMatch} readOnly={!isGroupAdmin} />}
             {activeTab === 'players' && <PlayerManager
               players={groupPlayers}
@@ -1,4 +1,4 @@
-import { Player, Match, Venue, Group, Role } from './types';
+import { Player, PlayerSearchResult, Match, MatchPage, PlayerStats, Venue, Group, Role, LiveEvent } from './types';
 
 const API_URL = (() => {
     const url = import.meta.env.VITE_API_URL || 'http://localhost:8080';
@@ -26,13 +26,31 @@ const handleResponse = async <T>(response: Response): Promise<T> => {
 
 // Players API
 export const playersApi = {
-    getAll: async (): Promise<Player[]> => {
-        const response = await fetch(`${API_URL}/v1/players`, {
+    // fields narrows the returned properties, e.g. 'name,rating' (id is always included)
+    getAll: async (options: { groupId?: string; fields?: string } = {}): Promise<Player[]> => {
+        const params = new URLSearchParams();
+        Object.entries(options).forEach(([key, value]) => {
+            if (value !== undefined && value !== null) params.append(key, String(value));
+        });
+
+        const url = `${API_URL}/v1/players${params.toString() ? `?${params.toString()}` : ''}`;
+        const response = await fetch(url, {
             headers: getAuthHeaders()
         });
         return handleResponse<Player[]>(response);
     },
 
+    search: async (q: string, options: { groupId?: string; limit?: number } = {}): Promise<PlayerSearchResult[]> => {
+        const params = new URLSearchParams({ q });
+        Object.entries(options).forEach(([key, value]) => {
+            if (value !== undefined && value !== null) params.append(key, String(value));
+        });
+        const response = await fetch(`${API_URL}/v1/players/search?${params.toString()}`, {
+            headers: getAuthHeaders()
+        });
+        return handleResponse<PlayerSearchResult[]>(response);
+    },
+
     findByEmail: async (email: string): Promise<Player | null> => {
         const response = await fetch(`${API_URL}/v1/players/by-email/${encodeURIComponent(email)}`, {
             headers: getAuthHeaders()
@@ -124,6 +142,19 @@ export const matchesApi = {
         return handleResponse<Match[]>(response);
     },
 
+    getFeed: async (options: { after?: string; limit?: number; groupId?: string; venueId?: string; type?: string } = {}): Promise<MatchPage> => {
+        const params = new URLSearchParams();
+        Object.entries(options).forEach(([key, value]) => {
+            if (value !== undefined && value !== null) params.append(key, String(value));
+        });
+
+        const url = `${API_URL}/v1/matches/feed${params.toString() ? `?${params.toString()}` : ''}`;
+        const response = await fetch(url, {
+            headers: getAuthHeaders()
+        });
+        return handleResponse<MatchPage>(response);
+    },
+
     create: async (match: Omit<Match, 'id' | 'userId'>): Promise<Match> => {
         const response = await fetch(`${API_URL}/v1/matches`, {
             method: 'POST',
@@ -142,6 +173,17 @@ export const matchesApi = {
     }
 };
 
+// Stats API
+export const statsApi = {
+    get: async (groupId?: string | null): Promise<PlayerStats[]> => {
+        const url = `${API_URL}/v1/stats${groupId ? `?groupId=${encodeURIComponent(groupId)}` : ''}`;
+        const response = await fetch(url, {
+            headers: getAuthHeaders()
+        });
+        return handleResponse<PlayerStats[]>(response);
+    }
+};
+
 export const venuesApi = {
     getAll: async (): Promise<Venue[]> => {
         const response = await fetch(`${API_URL}/v1/venues`, {
@@ -180,3 +222,54 @@ export const venuesApi = {
         return handleResponse<void>(response);
     }
 };
+
+// Live events (Server-Sent Events)
+export const eventsApi = {
+    // EventSource cannot send headers, so each connection uses a short-lived stream token in the query
+    // string instead of the session JWT. When the browser gives up reconnecting (e.g. the stream token
+    // expired), a fresh token is fetched and the stream reopened.
+    subscribe: (groupId: string | null, onEvent: (event: LiveEvent) => void): { close: () => void } => {
+        let source: EventSource | null = null;
+        let retry: ReturnType<typeof setTimeout> | null = null;
+        let closed = false;
+
+        const reconnect = () => {
+            if (!closed) retry = setTimeout(connect, 3000);
+        };
+
+        const connect = async () => {
+            try {
+                const response = await fetch(`${API_URL}/v1/events/token`, {
+                    method: 'POST',
+                    headers: getAuthHeaders()
+                });
+                const { token } = await handleResponse<{ token: string }>(response);
+                if (closed) return;
+
+                const params = new URLSearchParams();
+                if (groupId) params.append('groupId', groupId);
+                params.append('access_token', token);
+                source = new EventSource(`${API_URL}/v1/events?${params.toString()}`);
+                const handler = (e: MessageEvent) => onEvent(JSON.parse(e.data) as LiveEvent);
+                ['match_created', 'match_deleted', 'ratings_changed'].forEach(type => source!.addEventListener(type, handler));
+                source.onerror = () => {
+                    if (source && source.readyState === EventSource.CLOSED) {
+                        source.close();
+                        reconnect();
+                    }
+                };
+            } catch {
+                reconnect();
+            }
+        };
+
+        connect();
+        return {
+            close: () => {
+                closed = true;
+                if (retry) clearTimeout(retry);
+                source?.close();
+            }
+        };
+    }
+};
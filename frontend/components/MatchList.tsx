@@ -45,7 +45,7 @@ const MatchList: React.FC<MatchListProps> = ({ matches, venues, onDelete, readOn
               <div>
                 <h4 className="font-bold text-slate-900 dark:text-white truncate max-w-[180px]">
                   {match.venueId
-                    ? `${venues.find(v => v.id === match.venueId)?.name || 'Venue'}${match.courtNumber ? ` - Court ${match.courtNumber}` : ''}`
+                    ? `${venues.find(v => v.id === match.venueId)?.name || 'Unknown venue'}${match.courtNumber ? ` - Court ${match.courtNumber}` : ''}`
                     : 'Match'
                   }
                 </h4>
@@ -1,50 +1,31 @@
 
 import React, { useMemo, useEffect, useState } from 'react';
 import { Match, Player, PlayerStats } from '../types';
+import { statsApi } from '../api';
 import { BarChart, Bar, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer } from 'recharts';
 
 interface StatsDashboardProps {
   matches: Match[];
   players: Player[];
+  groupId?: string | null;
   userName: string;
 }
 
 const ITEMS_PER_PAGE = 10;
 
-const StatsDashboard: React.FC<StatsDashboardProps> = ({ matches, players, userName }) => {
+const StatsDashboard: React.FC<StatsDashboardProps> = ({ matches, players, groupId, userName }) => {
   const [activePlayerName, setActivePlayerName] = useState<string>(userName);
   const [currentPage, setCurrentPage] = useState(1);
+  const [allStats, setAllStats] = useState<PlayerStats[]>([]);
 
-  // Calculate all stats
-  const allStats = useMemo(() => {
-    const playerStats: Record<string, PlayerStats> = {};
-    matches.forEach(m => {
-      const teamANames = m.teamANames || m.teamA;
-      const teamBNames = m.teamBNames || m.teamB;
-      const players = [...teamANames, ...teamBNames];
-      players.forEach(p => {
-        if (!playerStats[p]) {
-          playerStats[p] = { name: p, matchesPlayed: 0, wins: 0, losses: 0, winRate: 0, avgPointsFor: 0, avgPointsAgainst: 0 };
-        }
-        const s = playerStats[p];
-        s.matchesPlayed++;
-        const isTeamA = teamANames.includes(p);
-        const win = (isTeamA && m.scoreA > m.scoreB) || (!isTeamA && m.scoreB > m.scoreA);
-        if (win) s.wins++; else s.losses++;
-        const pFor = isTeamA ? m.scoreA : m.scoreB;
-        const pAgainst = isTeamA ? m.scoreB : m.scoreA;
-        s.avgPointsFor = (s.avgPointsFor * (s.matchesPlayed - 1) + pFor) / s.matchesPlayed;
-        s.avgPointsAgainst = (s.avgPointsAgainst * (s.matchesPlayed - 1) + pAgainst) / s.matchesPlayed;
-        s.winRate = (s.wins / s.matchesPlayed) * 100;
-      });
-    });
-
-    return Object.values(playerStats).sort((a, b) => {
-      const scoreDiff = b.avgPointsFor - a.avgPointsFor;
-      if (scoreDiff !== 0) return scoreDiff;
-      return a.name.localeCompare(b.name);
-    });
-  }, [matches]);
+  // Standings come pre-sorted from the server-side counters; refetch when the match set changes
+  useEffect(() => {
+    let cancelled = false;
+    statsApi.get(groupId)
+      .then(stats => { if (!cancelled) setAllStats(stats || []); })
+      .catch(err => console.error('Failed to load stats:', err));
+    return () => { cancelled = true; };
+  }, [groupId, matches.length]);
 
   useEffect(() => {
     if (allStats.length > 0 && !allStats.find(s => s.name === activePlayerName)) {
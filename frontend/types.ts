@@ -19,6 +19,14 @@ export interface Player {
   memberships: Record<string, Role>;
 }
 
+export interface PlayerSearchResult {
+  id: string;
+  name: string;
+  email?: string;
+  member: boolean;
+  lastPlayedAt?: string;
+}
+
 export interface Venue {
   id: string;
   name: string;
@@ -45,7 +53,13 @@ export interface Match {
   groupId?: string;
 }
 
+export interface MatchPage {
+  items: Match[];
+  nextCursor: string | null;
+}
+
 export interface PlayerStats {
+  playerId?: string;
   name: string;
   matchesPlayed: number;
   wins: number;
@@ -73,3 +87,8 @@ export interface AppState {
   activeGroupId: string | null;
   isLoading: boolean;
 }
+
+export type LiveEvent =
+  | { type: 'match_created'; groupId?: string; match: Match }
+  | { type: 'match_deleted'; groupId?: string; matchId: string }
+  | { type: 'ratings_changed'; groupId?: string; ratings: Record<string, number> };